@@ -0,0 +1,67 @@
+package devkit.component.benchmarks;
+
+import devkit.component.rate.limiter.aop.RateLimiterAOP;
+import devkit.component.rate.limiter.domain.service.limiter.LocalRateLimiterEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allowed path as distinct keys grow past the registry bound (100k by default):
+ * from one contended limiter to constant eviction and re-creation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class KeyCardinalityBenchmark {
+
+    @Param({"1", "1000", "1000000", "10000000"})
+    private int keyCount;
+
+    private LimitedService proxy;
+
+    private String[] keys;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next = ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE);
+
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new LimitedService());
+        factory.addAspect(new RateLimiterAOP(Collections.singletonList(new LocalRateLimiterEngine())));
+        proxy = factory.getProxy();
+
+        keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = Integer.toString(i);
+        }
+    }
+
+    @Benchmark
+    public String allowed(Cursor cursor) {
+        int index = cursor.next++ % keyCount;
+        return proxy.allowed(keys[index < 0 ? index + keyCount : index]);
+    }
+
+}
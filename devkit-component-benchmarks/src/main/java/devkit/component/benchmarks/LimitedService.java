@@ -0,0 +1,53 @@
+package devkit.component.benchmarks;
+
+import devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptor;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+
+import java.util.concurrent.TimeUnit;
+
+/** Target of the benchmarks: one method per router path */
+public class LimitedService {
+
+    public static final String FALLBACK = "fallback";
+
+    /** Rate far above what one JVM can call: every call is allowed */
+    @RateLimiterAccessInterceptor(key = "userId", permitsPerSecond = 1_000_000_000d, fallbackClass = LimitedService.class, fallbackConstant = "FALLBACK")
+    public String allowed(String userId) {
+        return userId;
+    }
+
+    /** One permit per hour: every call after the first is rejected */
+    @RateLimiterAccessInterceptor(key = "userId", algorithm = LimitAlgorithm.FIXED_WINDOW, permits = 1, windowUnit = TimeUnit.HOURS,
+            fallbackClass = LimitedService.class, fallbackConstant = "FALLBACK")
+    public String rejected(String userId) {
+        return userId;
+    }
+
+    /** Keys get banned after two rejections */
+    @RateLimiterAccessInterceptor(key = "userId", algorithm = LimitAlgorithm.FIXED_WINDOW, permits = 1, windowUnit = TimeUnit.HOURS,
+            blacklistCount = 1, fallbackClass = LimitedService.class, fallbackConstant = "FALLBACK")
+    public String blacklisted(String userId) {
+        return userId;
+    }
+
+    /** Key read from a field of the argument */
+    @RateLimiterAccessInterceptor(key = "command.userId", permitsPerSecond = 1_000_000_000d, fallbackClass = LimitedService.class, fallbackConstant = "FALLBACK")
+    public String allowedByField(OrderCommand command) {
+        return command.userId;
+    }
+
+    public static class OrderCommand {
+
+        private final String userId;
+
+        public OrderCommand(String userId) {
+            this.userId = userId;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+    }
+
+}
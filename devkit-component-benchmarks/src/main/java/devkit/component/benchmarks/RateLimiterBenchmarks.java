@@ -0,0 +1,35 @@
+package devkit.component.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the rate limiter suites at 1, 4, 16 and 64 threads with the GC profiler, one JSON result per
+ * thread count under target/. Optional argument: include regex, e.g. RateLimiterRouterBenchmark.rejected
+ * <p>
+ * mvn -Pbenchmarks package -pl devkit-component-benchmarks -am
+ * java -jar devkit-component-benchmarks/target/benchmarks.jar
+ */
+public class RateLimiterBenchmarks {
+
+    private static final int[] THREADS = {1, 4, 16, 64};
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "devkit\\.component\\.benchmarks\\..*Benchmark";
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("target/jmh-threads-" + threads + ".json")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package devkit.component.benchmarks;
+
+import devkit.component.rate.limiter.aop.RateLimiterAOP;
+import devkit.component.rate.limiter.domain.service.limiter.LocalRateLimiterEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of RateLimiterAOP.doRouter per path, over a small set of hot keys.
+ * direct is the unproxied call, the floor the others are read against.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterRouterBenchmark {
+
+    private static final int KEYS = 1024;
+
+    private LimitedService target;
+
+    private LimitedService proxy;
+
+    private String[] keys;
+
+    private LimitedService.OrderCommand[] commands;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        int next() {
+            return next++ & (KEYS - 1);
+        }
+
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        target = new LimitedService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new RateLimiterAOP(Collections.singletonList(new LocalRateLimiterEngine())));
+        proxy = factory.getProxy();
+
+        keys = new String[KEYS];
+        commands = new LimitedService.OrderCommand[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "user-" + i;
+            commands[i] = new LimitedService.OrderCommand(keys[i]);
+            // Spend the permit, then get banned
+            proxy.rejected(keys[i]);
+            for (int j = 0; j < 3; j++) {
+                proxy.blacklisted(keys[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public String direct(Cursor cursor) {
+        return target.allowed(keys[cursor.next()]);
+    }
+
+    @Benchmark
+    public String allowed(Cursor cursor) {
+        return proxy.allowed(keys[cursor.next()]);
+    }
+
+    @Benchmark
+    public String rejected(Cursor cursor) {
+        return proxy.rejected(keys[cursor.next()]);
+    }
+
+    @Benchmark
+    public String blacklisted(Cursor cursor) {
+        return proxy.blacklisted(keys[cursor.next()]);
+    }
+
+    /** Against allowed: key from a String argument vs a field of the argument */
+    @Benchmark
+    public String allowedByField(Cursor cursor) {
+        return proxy.allowedByField(commands[cursor.next()]);
+    }
+
+}
@@ -2,22 +2,39 @@ package devkit.component.dynamic.config.center.config;
 
 import devkit.component.dynamic.config.center.domain.service.IDynamicConfigCenterService;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 
 @Configuration
-public class DynamicConfigCenterAutoConfig implements BeanPostProcessor {
+public class DynamicConfigCenterAutoConfig implements BeanPostProcessor, SmartInitializingSingleton, BeanFactoryAware {
 
     private final IDynamicConfigCenterService dynamicConfigCenterService;
 
+    private BeanFactory beanFactory;
+
     public DynamicConfigCenterAutoConfig(IDynamicConfigCenterService dynamicConfigCenterService) {
         this.dynamicConfigCenterService = dynamicConfigCenterService;
     }
 
     @Override
     public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) throws BeansException {
-        return dynamicConfigCenterService.proxyObject(bean);
+        // Prototype and request-scoped instances are not bound; beans without a definition count as singletons
+        boolean singleton = null == beanFactory || !beanFactory.containsBean(beanName) || beanFactory.isSingleton(beanName);
+        return dynamicConfigCenterService.proxyObject(bean, singleton);
+    }
+
+    @Override
+    public void setBeanFactory(@NonNull BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        dynamicConfigCenterService.bootstrap();
     }
 
 }
@@ -8,6 +8,12 @@ public class DynamicConfigCenterAutoProperties {
 
     private String system;
 
+    /** Only reflect over classes listed in the compile-time @DCCValue index (default false) */
+    private boolean useIndex = false;
+
+    /** How long a key Redis does not have is remembered before get() reads it again (default 30000 ms) */
+    private long absentTtlMillis = 30_000;
+
     public String getKey(String attributeName) {
         return this.system + Constants.LINE + attributeName;
     }
@@ -20,4 +26,20 @@ public class DynamicConfigCenterAutoProperties {
         this.system = system;
     }
 
+    public boolean isUseIndex() {
+        return useIndex;
+    }
+
+    public void setUseIndex(boolean useIndex) {
+        this.useIndex = useIndex;
+    }
+
+    public long getAbsentTtlMillis() {
+        return absentTtlMillis;
+    }
+
+    public void setAbsentTtlMillis(long absentTtlMillis) {
+        this.absentTtlMillis = absentTtlMillis;
+    }
+
 }
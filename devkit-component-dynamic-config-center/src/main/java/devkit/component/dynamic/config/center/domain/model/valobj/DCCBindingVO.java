@@ -0,0 +1,100 @@
+package devkit.component.dynamic.config.center.domain.model.valobj;
+
+import devkit.component.dynamic.config.center.types.holder.DCCHolder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * One @DCCValue field or setter on a bean, bound to a config key. The write is resolved once
+ * into a (String)void handle: the setter, the field setter, or the {@link DCCHolder}'s update.
+ */
+public class DCCBindingVO {
+
+    private static final MethodType VALUE_TYPE = MethodType.methodType(void.class, String.class);
+
+    private final String key;
+
+    private final String defaultValue;
+
+    private final Object bean;
+
+    /** Annotated field, or null for a setter binding */
+    private final Field field;
+
+    /** Annotated setter, or null for a field binding */
+    private final Method setter;
+
+    private final MethodHandle target;
+
+    public DCCBindingVO(String key, String defaultValue, Object bean, Field field, Method setter) {
+        this.key = key;
+        this.defaultValue = defaultValue;
+        this.bean = bean;
+        this.field = field;
+        this.setter = setter;
+        this.target = resolveTarget();
+    }
+
+    /** Push a value into the bean */
+    public void apply(String value) {
+        try {
+            target.invokeExact(value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private MethodHandle resolveTarget() {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            if (null != setter) {
+                setter.setAccessible(true);
+                return lookup.unreflect(setter).bindTo(bean).asType(VALUE_TYPE);
+            }
+
+            field.setAccessible(true);
+            if (DCCHolder.class.isAssignableFrom(field.getType())) {
+                // Typed holders parse and publish themselves; the field is never rewritten
+                DCCHolder<?> holder = (DCCHolder<?>) field.get(bean);
+                if (null == holder) {
+                    throw new IllegalStateException(field.getName() + " @DCCValue holder must be initialised");
+                }
+                return lookup.findVirtual(DCCHolder.class, "update", VALUE_TYPE).bindTo(holder);
+            }
+            if (Modifier.isFinal(field.getModifiers())) {
+                throw new IllegalStateException(field.getName() + " @DCCValue String field must not be final, or use a DCCHolder");
+            }
+            return lookup.unreflectSetter(field).bindTo(bean).asType(VALUE_TYPE);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("dcc binding " + key + " is not accessible", e);
+        }
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    public Object getBean() {
+        return bean;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Method getSetter() {
+        return setter;
+    }
+
+}
@@ -0,0 +1,48 @@
+package devkit.component.dynamic.config.center.domain.model.valobj;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * A @DCCValue field or setter of a class, with its key and default parsed once per class.
+ */
+public class DCCMemberVO {
+
+    private final String key;
+
+    private final String defaultValue;
+
+    /** Annotated field, or null for a setter */
+    private final Field field;
+
+    /** Annotated setter, or null for a field */
+    private final Method setter;
+
+    public DCCMemberVO(String key, String defaultValue, Field field, Method setter) {
+        this.key = key;
+        this.defaultValue = defaultValue;
+        this.field = field;
+        this.setter = setter;
+    }
+
+    public DCCBindingVO bind(Object bean) {
+        return new DCCBindingVO(key, defaultValue, bean, field, setter);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Method getSetter() {
+        return setter;
+    }
+
+}
@@ -0,0 +1,99 @@
+package devkit.component.dynamic.config.center.domain.model.valobj;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of the config values known to this process. Changes copy it, so readers
+ * never lock and never see a half-applied update.
+ */
+public class DCCSnapshotVO {
+
+    public static final DCCSnapshotVO EMPTY = new DCCSnapshotVO(0, Collections.emptyMap());
+
+    /** Bumped by every change */
+    private final long version;
+
+    private final Map<String, Entry> entries;
+
+    private DCCSnapshotVO(long version, Map<String, Entry> entries) {
+        this.version = version;
+        this.entries = entries;
+    }
+
+    /** Copy with the changed values, each stamped with the next version */
+    public DCCSnapshotVO with(Map<String, String> changes) {
+        long next = version + 1;
+        Map<String, Entry> copy = new HashMap<>(entries);
+        for (Map.Entry<String, String> change : changes.entrySet()) {
+            copy.put(change.getKey(), new Entry(change.getValue(), next));
+        }
+        return new DCCSnapshotVO(next, Collections.unmodifiableMap(copy));
+    }
+
+    /** Copy that remembers a key Redis does not have until expiresAt (epoch millis); the version is unchanged */
+    public DCCSnapshotVO withAbsent(String key, long expiresAt) {
+        Map<String, Entry> copy = new HashMap<>(entries);
+        copy.put(key, new Entry(null, 0, expiresAt));
+        return new DCCSnapshotVO(version, Collections.unmodifiableMap(copy));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /** Entry for a key, or null if it was never loaded */
+    public Entry getEntry(String key) {
+        return entries.get(key);
+    }
+
+    public static class Entry {
+
+        /** Raw value, null when the key is not set */
+        private final String value;
+
+        /** Snapshot version of the last change, 0 if never set */
+        private final long version;
+
+        /** When an absent entry should be read again, epoch millis; 0 for loaded values */
+        private final long expiresAt;
+
+        // Last conversion as {type, value}, so repeated reads of one type do not parse again
+        private volatile Object[] converted;
+
+        Entry(String value, long version) {
+            this(value, version, 0);
+        }
+
+        Entry(String value, long version, long expiresAt) {
+            this.value = value;
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /** An absent entry past its expiry; values pushed or loaded never expire */
+        public boolean isExpired(long now) {
+            return 0 != expiresAt && now >= expiresAt;
+        }
+
+        public Object getConverted(Class<?> type) {
+            Object[] last = converted;
+            return null != last && last[0] == type ? last[1] : null;
+        }
+
+        public void setConverted(Class<?> type, Object value) {
+            this.converted = new Object[]{type, value};
+        }
+
+    }
+
+}
@@ -1,20 +1,46 @@
 package devkit.component.dynamic.config.center.domain.service;
 
+import com.alibaba.fastjson.JSON;
 import devkit.component.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
 import devkit.component.dynamic.config.center.domain.model.valobj.AttributeVO;
+import devkit.component.dynamic.config.center.domain.model.valobj.DCCBindingVO;
+import devkit.component.dynamic.config.center.domain.model.valobj.DCCMemberVO;
+import devkit.component.dynamic.config.center.domain.model.valobj.DCCSnapshotVO;
 import devkit.component.dynamic.config.center.types.annotations.DCCValue;
 import devkit.component.dynamic.config.center.types.common.Constants;
+import devkit.component.dynamic.config.center.types.holder.DCCHolder;
 import org.apache.commons.lang.StringUtils;
+import org.redisson.api.RBatch;
 import org.redisson.api.RBucket;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RFuture;
 import org.redisson.api.RedissonClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.util.ClassUtils;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class DynamicConfigCenterService implements IDynamicConfigCenterService {
 
@@ -24,15 +50,43 @@ public class DynamicConfigCenterService implements IDynamicConfigCenterService {
 
     private final RedissonClient redissonClient;
 
-    private final Map<String, Object> dccBeanGroup = new ConcurrentHashMap<>();
+    // Every bean field and setter bound to a key, with its write handle resolved
+    private final Map<String, List<DCCBindingVO>> dccBindingGroup = new ConcurrentHashMap<>();
+
+    // @DCCValue members per class, empty for classes without any
+    private final Map<Class<?>, List<DCCMemberVO>> dccClassMeta = new ConcurrentHashMap<>();
+
+    // Classes named by the compile-time index, or null to reflect over every class
+    private final Set<String> dccIndex;
+
+    // Bindings collected before bootstrap(), guarded by itself
+    private final List<DCCBindingVO> pending = new ArrayList<>();
+
+    private boolean started;
+
+    // Values known locally, replaced on every change; writers hold snapshotLock
+    private volatile DCCSnapshotVO snapshot = DCCSnapshotVO.EMPTY;
+
+    private final Object snapshotLock = new Object();
+
+    private final ConversionService conversionService = ApplicationConversionService.getSharedInstance();
 
     public DynamicConfigCenterService(DynamicConfigCenterAutoProperties properties, RedissonClient redissonClient) {
         this.properties = properties;
         this.redissonClient = redissonClient;
+        this.dccIndex = properties.isUseIndex() ? loadIndex(ClassUtils.getDefaultClassLoader()) : null;
+        if (properties.isUseIndex() && null == dccIndex) {
+            log.warn("devkit-component dcc index {} not found, scanning every bean", Constants.DCC_VALUE_INDEX);
+        }
     }
 
     @Override
     public Object proxyObject(Object bean) {
+        return proxyObject(bean, true);
+    }
+
+    @Override
+    public Object proxyObject(Object bean, boolean singleton) {
         Class<?> targetBeanClass = bean.getClass();
         Object targetBeanObject = bean;
 
@@ -41,12 +95,60 @@ public class DynamicConfigCenterService implements IDynamicConfigCenterService {
             targetBeanObject = AopProxyUtils.getSingletonTarget(bean);
         }
 
-        Field[] fields = targetBeanClass.getDeclaredFields();
+        List<DCCMemberVO> members = dccClassMeta.computeIfAbsent(targetBeanClass, this::scan);
+        if (members.isEmpty()) return bean;
+
+        List<DCCBindingVO> bindings = new ArrayList<>(members.size());
+        for (DCCMemberVO member : members) {
+            bindings.add(member.bind(targetBeanObject));
+        }
+
+        // Not kept: the values in force now, from the snapshot
+        if (!singleton) {
+            Map<String, String> values = new HashMap<>();
+            for (DCCBindingVO binding : bindings) {
+                String value = entry(binding.getKey()).getValue();
+                values.put(binding.getKey(), null != value ? value : binding.getDefaultValue());
+            }
+            RuntimeException failure = apply(bindings, values);
+            if (null != failure) {
+                log.error("devkit-component dcc bindings kept their current values", failure);
+            }
+            return bean;
+        }
+
+        for (DCCBindingVO binding : bindings) {
+            dccBindingGroup.computeIfAbsent(binding.getKey(), k -> new CopyOnWriteArrayList<>()).add(binding);
+        }
+
+        // Before the context is up, values are read in one batch by bootstrap()
+        synchronized (pending) {
+            if (!started) {
+                pending.addAll(bindings);
+                return bean;
+            }
+        }
+        resolve(bindings);
+
+        return bean;
+    }
+
+    /** Reflect over a class once; classes outside the index, or without @DCCValue members, get an empty list */
+    private List<DCCMemberVO> scan(Class<?> beanClass) {
+        if (null != dccIndex && !isIndexed(beanClass)) return Collections.emptyList();
+
+        List<DCCMemberVO> members = new ArrayList<>();
+
+        Field[] fields = beanClass.getDeclaredFields();
         for (Field field : fields) {
             if (!field.isAnnotationPresent(DCCValue.class)) {
                 continue;
             }
 
+            if (field.getType() != String.class && !DCCHolder.class.isAssignableFrom(field.getType())) {
+                throw new RuntimeException(field.getName() + " @DCCValue field must be a String or a DCCHolder");
+            }
+
             DCCValue dccValue = field.getAnnotation(DCCValue.class);
 
             String value = dccValue.value();
@@ -59,32 +161,177 @@ public class DynamicConfigCenterService implements IDynamicConfigCenterService {
 
             String defaultValue = splits.length == 2 ? splits[1] : null;
 
-            String setValue = defaultValue;
+            if (StringUtils.isBlank(defaultValue)) {
+                throw new RuntimeException("dcc config error " + key + " is not null - please set default value to config");
+            }
 
-            try {
-                if (StringUtils.isBlank(defaultValue)) {
-                    throw new RuntimeException("dcc config error " + key + " is not null - please set default value to config");
-                }
+            members.add(new DCCMemberVO(key, defaultValue, field, null));
+        }
+
+        // Setters take the value as a String and parse it themselves
+        for (Method method : beanClass.getMethods()) {
+            if (!method.isAnnotationPresent(DCCValue.class)) {
+                continue;
+            }
+            if (method.getParameterCount() != 1 || method.getParameterTypes()[0] != String.class) {
+                throw new RuntimeException(method.getName() + " @DCCValue method must take one String parameter");
+            }
+
+            String value = method.getAnnotation(DCCValue.class).value();
+            if (StringUtils.isBlank(value)) {
+                throw new RuntimeException(method.getName() + " @DCCValue is not config value config case 「isSwitch/isSwitch:1」");
+            }
+
+            String[] splits = value.split(Constants.SYMBOL_COLON, 2);
+            String key = properties.getKey(splits[0].trim());
+            String defaultValue = splits.length == 2 ? splits[1] : null;
+            if (StringUtils.isBlank(defaultValue)) {
+                throw new RuntimeException("dcc config error " + key + " is not null - please set default value to config");
+            }
+
+            members.add(new DCCMemberVO(key, defaultValue, null, method));
+        }
 
-                RBucket<String> bucket = redissonClient.getBucket(key);
-                boolean exists = bucket.isExists();
-                if (!exists) {
-                    bucket.set(defaultValue);
-                } else {
-                    setValue = bucket.get();
+        return members.isEmpty() ? Collections.emptyList() : members;
+    }
+
+    private boolean isIndexed(Class<?> beanClass) {
+        for (Class<?> type = beanClass; null != type && Object.class != type; type = type.getSuperclass()) {
+            if (dccIndex.contains(type.getName())) return true;
+        }
+        return false;
+    }
+
+    private static Set<String> loadIndex(ClassLoader classLoader) {
+        Set<String> classNames = new HashSet<>();
+        try {
+            Enumeration<URL> urls = classLoader.getResources(Constants.DCC_VALUE_INDEX);
+            if (!urls.hasMoreElements()) return null;
+            while (urls.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(urls.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (StringUtils.isNotBlank(line)) classNames.add(line.trim());
+                    }
                 }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("dcc index " + Constants.DCC_VALUE_INDEX + " could not be read", e);
+        }
+        return classNames;
+    }
+
+    @Override
+    public void bootstrap() {
+        List<DCCBindingVO> bindings;
+        synchronized (pending) {
+            started = true;
+            bindings = new ArrayList<>(pending);
+            pending.clear();
+        }
+        resolve(bindings);
+        log.info("devkit-component dcc bootstrap bindings:{}", bindings.size());
+    }
+
+    /**
+     * One pipelined round-trip: SETNX the default and GET the value in force for each key,
+     * then push the values into the beans.
+     */
+    private void resolve(List<DCCBindingVO> bindings) {
+        if (bindings.isEmpty()) return;
+
+        RBatch batch = redissonClient.createBatch();
+        Map<String, RFuture<String>> values = new LinkedHashMap<>();
+        for (DCCBindingVO binding : bindings) {
+            if (values.containsKey(binding.getKey())) continue;
+            RBucketAsync<String> bucket = batch.getBucket(binding.getKey());
+            bucket.setIfAbsentAsync(binding.getDefaultValue());
+            values.put(binding.getKey(), bucket.getAsync());
+        }
+        batch.execute();
+
+        Map<String, String> resolved = new HashMap<>();
+        for (DCCBindingVO binding : bindings) {
+            String value = values.get(binding.getKey()).toCompletableFuture().join();
+            resolved.putIfAbsent(binding.getKey(), null != value ? value : binding.getDefaultValue());
+        }
+        publish(resolved);
 
-                field.setAccessible(true);
-                field.set(targetBeanObject, setValue);
-                field.setAccessible(false);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+        // A binding that cannot take its value keeps the current one; startup goes on
+        RuntimeException failure = apply(bindings, resolved);
+        if (null != failure) {
+            log.error("devkit-component dcc bindings kept their current values", failure);
+        }
+    }
+
+    /** Push values into every binding; one failing does not keep the others stale. Returns the first failure, the rest suppressed */
+    private RuntimeException apply(List<DCCBindingVO> bindings, Map<String, String> values) {
+        RuntimeException failure = null;
+        for (DCCBindingVO binding : bindings) {
+            try {
+                binding.apply(values.get(binding.getKey()));
+            } catch (RuntimeException e) {
+                if (null == failure) failure = e;
+                else failure.addSuppressed(e);
             }
+        }
+        return failure;
+    }
 
-            dccBeanGroup.put(key, targetBeanObject);
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(String attribute, Class<T> type) {
+        DCCSnapshotVO.Entry entry = entry(properties.getKey(attribute));
+        if (null == entry.getValue()) return null;
+
+        Object converted = entry.getConverted(type);
+        if (null == converted) {
+            converted = conversionService.canConvert(String.class, type)
+                    ? conversionService.convert(entry.getValue(), type)
+                    : JSON.parseObject(entry.getValue(), type);
+            entry.setConverted(type, converted);
         }
+        return (T) converted;
+    }
 
-        return bean;
+    @Override
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    @Override
+    public long getVersion(String attribute) {
+        DCCSnapshotVO.Entry entry = snapshot.getEntry(properties.getKey(attribute));
+        return null == entry ? 0 : entry.getVersion();
+    }
+
+    private DCCSnapshotVO.Entry entry(String key) {
+        DCCSnapshotVO.Entry entry = snapshot.getEntry(key);
+        if (isCurrent(entry)) return entry;
+
+        // First read of an unbound key: one GET, then pushes on the topic keep it current.
+        // A key Redis does not have is asked again after absentTtlMillis, in case it was created since
+        String value = redissonClient.<String>getBucket(key).get();
+        synchronized (snapshotLock) {
+            entry = snapshot.getEntry(key);
+            if (!isCurrent(entry)) {
+                snapshot = null == value
+                        ? snapshot.withAbsent(key, System.currentTimeMillis() + properties.getAbsentTtlMillis())
+                        : snapshot.with(Collections.singletonMap(key, value));
+                entry = snapshot.getEntry(key);
+            }
+        }
+        return entry;
+    }
+
+    private static boolean isCurrent(DCCSnapshotVO.Entry entry) {
+        return null != entry && (null != entry.getValue() || !entry.isExpired(System.currentTimeMillis()));
+    }
+
+    private void publish(Map<String, String> changes) {
+        synchronized (snapshotLock) {
+            snapshot = snapshot.with(changes);
+        }
     }
 
     @Override
@@ -96,25 +343,14 @@ public class DynamicConfigCenterService implements IDynamicConfigCenterService {
         boolean exists = bucket.isExists();
         if (!exists) return;
         bucket.set(attributeVO.getValue());
+        publish(Collections.singletonMap(key, value));
 
-        Object objBean = dccBeanGroup.get(key);
-        if (null == objBean) return;
+        List<DCCBindingVO> bindings = dccBindingGroup.get(key);
+        if (null == bindings) return;
 
-        Class<?> objBeanClass = objBean.getClass();
-        if (AopUtils.isAopProxy(objBean)) {
-            objBeanClass = AopUtils.getTargetClass(objBean);
-        }
-
-        try {
-            Field field = objBeanClass.getDeclaredField(attributeVO.getAttribute());
-            field.setAccessible(true);
-            field.set(objBean, value);
-            field.setAccessible(false);
+        RuntimeException failure = apply(bindings, Collections.singletonMap(key, value));
+        if (null != failure) throw failure;
 
-            log.info("DCC KEY and VALUE {} {}", key, value);
-
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        log.info("DCC KEY and VALUE {} {} bindings:{}", key, value, bindings.size());
     }
 }
@@ -6,6 +6,27 @@ public interface IDynamicConfigCenterService {
 
     Object proxyObject(Object bean);
 
+    /**
+     * Singletons are bound and follow every push. Other scopes take the values in force when
+     * created and are not kept, so short-lived instances neither pile up nor cost a Redis batch each.
+     */
+    Object proxyObject(Object bean, boolean singleton);
+
+    /** Resolve the bindings collected so far in one batch; later beans resolve as they come */
+    void bootstrap();
+
     void adjustAttributeValue(AttributeVO attributeVO);
 
+    /**
+     * Value from the local snapshot, converted to the type (JSON for beans); null when unset.
+     * Only the first read of a key nothing is bound to goes to Redis; one Redis does not have is read again after absentTtlMillis.
+     */
+    <T> T get(String attribute, Class<T> type);
+
+    /** Snapshot version, bumped by every change */
+    long getVersion();
+
+    /** Snapshot version of the last change to an attribute, 0 if never set */
+    long getVersion(String attribute);
+
 }
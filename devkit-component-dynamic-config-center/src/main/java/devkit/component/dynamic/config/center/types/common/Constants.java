@@ -8,6 +8,8 @@ public class Constants {
 
     public final static String LINE = "_";
 
+    public final static String DCC_VALUE_INDEX = "META-INF/devkit/dcc-value.index";
+
     public static String getTopic(String application) {
         return DYNAMIC_CONFIG_CENTER_REDIS_TOPIC + application;
     }
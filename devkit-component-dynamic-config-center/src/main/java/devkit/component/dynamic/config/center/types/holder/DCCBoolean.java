@@ -0,0 +1,36 @@
+package devkit.component.dynamic.config.center.types.holder;
+
+/**
+ * true/open/on/1 and false/close/off/0, case-insensitive; any other value is rejected and the
+ * current one kept.
+ */
+public class DCCBoolean extends DCCHolder<Boolean> {
+
+    public DCCBoolean(boolean initialValue) {
+        super(initialValue);
+    }
+
+    public boolean isTrue() {
+        return get();
+    }
+
+    @Override
+    protected Boolean parse(String raw) {
+        String value = null == raw ? "" : raw.trim().toLowerCase();
+        switch (value) {
+            case "true":
+            case "open":
+            case "on":
+            case "1":
+                return Boolean.TRUE;
+            case "false":
+            case "close":
+            case "off":
+            case "0":
+                return Boolean.FALSE;
+            default:
+                throw new IllegalArgumentException("not a boolean: " + raw);
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package devkit.component.dynamic.config.center.types.holder;
+
+public class DCCDouble extends DCCHolder<Double> {
+
+    public DCCDouble(double initialValue) {
+        super(initialValue);
+    }
+
+    public double doubleValue() {
+        return get();
+    }
+
+    @Override
+    protected Double parse(String raw) {
+        return Double.parseDouble(raw.trim());
+    }
+
+}
@@ -0,0 +1,21 @@
+package devkit.component.dynamic.config.center.types.holder;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+
+/**
+ * ISO-8601 (PT3S) or simple (3s, 500ms, plain millis) durations.
+ */
+public class DCCDuration extends DCCHolder<Duration> {
+
+    public DCCDuration(Duration initialValue) {
+        super(initialValue);
+    }
+
+    @Override
+    protected Duration parse(String raw) {
+        return DurationStyle.detectAndParse(raw.trim());
+    }
+
+}
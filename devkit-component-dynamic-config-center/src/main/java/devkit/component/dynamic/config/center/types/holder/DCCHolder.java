@@ -0,0 +1,41 @@
+package devkit.component.dynamic.config.center.types.holder;
+
+/**
+ * Typed @DCCValue field: the raw value is parsed once per change and published through a
+ * volatile write, so readers get the typed value with one volatile read.
+ * Declare the field initialised, e.g. {@code @DCCValue("timeout:PT3S") private final DCCDuration timeout = new DCCDuration(Duration.ofSeconds(3));}
+ */
+public abstract class DCCHolder<T> {
+
+    private volatile T value;
+
+    private volatile String raw;
+
+    protected DCCHolder(T initialValue) {
+        this.value = initialValue;
+    }
+
+    public T get() {
+        return value;
+    }
+
+    /** Last raw value applied, or null before the first */
+    public String getRaw() {
+        return raw;
+    }
+
+    /** Parse and publish; a value that does not parse throws and leaves the current one in place */
+    public synchronized void update(String raw) {
+        T parsed = parse(raw);
+        this.raw = raw;
+        this.value = parsed;
+    }
+
+    protected abstract T parse(String raw);
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+
+}
@@ -0,0 +1,24 @@
+package devkit.component.dynamic.config.center.types.holder;
+
+import com.alibaba.fastjson.JSON;
+
+import java.lang.reflect.Type;
+
+/**
+ * JSON value, parsed with fastjson into the given type; pass a TypeReference's type for generics.
+ */
+public class DCCJson<T> extends DCCHolder<T> {
+
+    private final Type type;
+
+    public DCCJson(Type type, T initialValue) {
+        super(initialValue);
+        this.type = type;
+    }
+
+    @Override
+    protected T parse(String raw) {
+        return JSON.parseObject(raw, type);
+    }
+
+}
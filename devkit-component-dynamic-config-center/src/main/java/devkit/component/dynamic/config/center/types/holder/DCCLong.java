@@ -0,0 +1,18 @@
+package devkit.component.dynamic.config.center.types.holder;
+
+public class DCCLong extends DCCHolder<Long> {
+
+    public DCCLong(long initialValue) {
+        super(initialValue);
+    }
+
+    public long longValue() {
+        return get();
+    }
+
+    @Override
+    protected Long parse(String raw) {
+        return Long.parseLong(raw.trim());
+    }
+
+}
@@ -0,0 +1,86 @@
+package devkit.component.dynamic.config.center.types.processor;
+
+import devkit.component.dynamic.config.center.types.common.Constants;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes the binary names of classes declaring @DCCValue members to {@link Constants#DCC_VALUE_INDEX},
+ * so post-processing can skip every other class without reflection.
+ */
+public class DCCValueIndexProcessor extends AbstractProcessor {
+
+    private static final String DCC_VALUE = "devkit.component.dynamic.config.center.types.annotations.DCCValue";
+
+    private final Set<String> classNames = new TreeSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(DCC_VALUE);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                Element type = element.getEnclosingElement();
+                if (type instanceof TypeElement) {
+                    classNames.add(processingEnv.getElementUtils().getBinaryName((TypeElement) type).toString());
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !classNames.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        // Keep entries from an earlier, incremental compile of the same module
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", Constants.DCC_VALUE_INDEX);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) classNames.add(line.trim());
+                }
+            }
+        } catch (IOException ignored) {
+            // No earlier index
+        }
+
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", Constants.DCC_VALUE_INDEX);
+            try (Writer writer = new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String className : classNames) {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + Constants.DCC_VALUE_INDEX + ": " + e);
+        }
+    }
+
+}
@@ -0,0 +1,263 @@
+package devkit.component.dynamic.config.center.test;
+
+import devkit.component.dynamic.config.center.config.DynamicConfigCenterAutoProperties;
+import devkit.component.dynamic.config.center.domain.model.valobj.AttributeVO;
+import devkit.component.dynamic.config.center.domain.service.DynamicConfigCenterService;
+import devkit.component.dynamic.config.center.types.annotations.DCCValue;
+import devkit.component.dynamic.config.center.types.holder.DCCLong;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucket;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RFuture;
+import org.redisson.api.RedissonClient;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Service against a map-backed Redis: batch bootstrap, failing bindings, the class index, absent keys,
+ * push fan-out, non-singleton beans.
+ */
+public class DynamicConfigCenterServiceTest {
+
+    public static class SwitchBean {
+
+        @DCCValue("downgradeSwitch:0")
+        private String downgradeSwitch;
+
+        @DCCValue("timeout:100")
+        private final DCCLong timeout = new DCCLong(100);
+
+        private String cutRange;
+
+        @DCCValue("cutRange:100")
+        public void setCutRange(String cutRange) {
+            this.cutRange = cutRange;
+        }
+
+    }
+
+    /** Not in the test index */
+    public static class UnindexedBean {
+
+        @DCCValue("downgradeSwitch:0")
+        private String downgradeSwitch;
+
+    }
+
+    /** Indexed through its superclass, binds the inherited setter */
+    public static class SwitchBeanChild extends SwitchBean {
+    }
+
+    private final Map<String, String> store = new ConcurrentHashMap<>();
+
+    private RedissonClient redissonClient;
+
+    private RBatch batch;
+
+    private DynamicConfigCenterAutoProperties properties;
+
+    @Before
+    public void init() {
+        properties = new DynamicConfigCenterAutoProperties();
+        properties.setSystem("test");
+
+        batch = mock(RBatch.class);
+        doAnswer(invocation -> batchBucket(invocation.getArgument(0))).when(batch).getBucket(anyString());
+
+        redissonClient = mock(RedissonClient.class);
+        when(redissonClient.createBatch()).thenReturn(batch);
+        doAnswer(invocation -> bucket(invocation.getArgument(0))).when(redissonClient).getBucket(anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private RBucketAsync<String> batchBucket(String key) {
+        RBucketAsync<String> bucket = mock(RBucketAsync.class);
+        doAnswer(invocation -> {
+            store.putIfAbsent(key, invocation.getArgument(0));
+            return null;
+        }).when(bucket).setIfAbsentAsync(anyString());
+        RFuture<String> value = mock(RFuture.class);
+        when(value.toCompletableFuture()).thenAnswer(invocation -> CompletableFuture.completedFuture(store.get(key)));
+        when(bucket.getAsync()).thenReturn(value);
+        return bucket;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RBucket<String> bucket(String key) {
+        RBucket<String> bucket = mock(RBucket.class);
+        when(bucket.get()).thenAnswer(invocation -> store.get(key));
+        when(bucket.isExists()).thenAnswer(invocation -> store.containsKey(key));
+        doAnswer(invocation -> store.put(key, invocation.getArgument(0))).when(bucket).set(anyString());
+        return bucket;
+    }
+
+    @Test
+    public void test_bootstrapResolvesAbsentAndPresentKeysInOneBatch() {
+        store.put(properties.getKey("timeout"), "250");
+        DynamicConfigCenterService service = new DynamicConfigCenterService(properties, redissonClient);
+        SwitchBean first = new SwitchBean();
+        SwitchBean second = new SwitchBean();
+        service.proxyObject(first);
+        service.proxyObject(second);
+        Assert.assertNull(first.downgradeSwitch);
+
+        service.bootstrap();
+
+        verify(redissonClient, times(1)).createBatch();
+        verify(batch, times(1)).execute();
+        verify(redissonClient, never()).getBucket(anyString());
+        // Absent keys get their default written, present keys keep theirs
+        Assert.assertEquals("0", store.get(properties.getKey("downgradeSwitch")));
+        Assert.assertEquals("250", store.get(properties.getKey("timeout")));
+        for (SwitchBean bean : new SwitchBean[]{first, second}) {
+            Assert.assertEquals("0", bean.downgradeSwitch);
+            Assert.assertEquals(250, bean.timeout.longValue());
+            Assert.assertEquals("100", bean.cutRange);
+        }
+        Assert.assertEquals(Long.valueOf(250), service.get("timeout", Long.class));
+    }
+
+    @Test
+    public void test_failingBindingDoesNotStopBootstrap() {
+        store.put(properties.getKey("timeout"), "xyz");
+        store.put(properties.getKey("downgradeSwitch"), "1");
+        DynamicConfigCenterService service = new DynamicConfigCenterService(properties, redissonClient);
+        SwitchBean bean = new SwitchBean();
+        service.proxyObject(bean);
+
+        service.bootstrap();
+
+        // The holder that cannot parse keeps its value, the bindings after it still apply
+        Assert.assertEquals(100, bean.timeout.longValue());
+        Assert.assertEquals("1", bean.downgradeSwitch);
+        Assert.assertEquals("100", bean.cutRange);
+
+        // Late beans resolve the same way
+        SwitchBean late = new SwitchBean();
+        service.proxyObject(late);
+        Assert.assertEquals(100, late.timeout.longValue());
+        Assert.assertEquals("1", late.downgradeSwitch);
+    }
+
+    @Test
+    public void test_indexSkipsUnlistedClasses() {
+        properties.setUseIndex(true);
+        DynamicConfigCenterService service = new DynamicConfigCenterService(properties, redissonClient);
+        SwitchBean indexed = new SwitchBean();
+        SwitchBeanChild child = new SwitchBeanChild();
+        UnindexedBean unindexed = new UnindexedBean();
+        service.proxyObject(indexed);
+        service.proxyObject(child);
+        service.proxyObject(unindexed);
+        service.bootstrap();
+
+        Assert.assertEquals("0", indexed.downgradeSwitch);
+        Assert.assertEquals("100", ((SwitchBean) child).cutRange);
+        Assert.assertNull(unindexed.downgradeSwitch);
+
+        // Without the index every class is scanned
+        properties.setUseIndex(false);
+        DynamicConfigCenterService scanning = new DynamicConfigCenterService(properties, redissonClient);
+        scanning.proxyObject(unindexed);
+        scanning.bootstrap();
+        Assert.assertEquals("0", unindexed.downgradeSwitch);
+    }
+
+    @Test
+    public void test_absentKeyIsReadAgainAfterTtl() throws InterruptedException {
+        properties.setAbsentTtlMillis(200);
+        DynamicConfigCenterService service = new DynamicConfigCenterService(properties, redissonClient);
+        Assert.assertNull(service.get("created", String.class));
+
+        // Created without a push: the absent marker holds until it expires
+        store.put(properties.getKey("created"), "v1");
+        Assert.assertNull(service.get("created", String.class));
+        Thread.sleep(300);
+        Assert.assertEquals("v1", service.get("created", String.class));
+
+        // Loaded values stay until a push changes them
+        store.put(properties.getKey("created"), "v2");
+        Thread.sleep(300);
+        Assert.assertEquals("v1", service.get("created", String.class));
+        service.adjustAttributeValue(new AttributeVO("created", "v3"));
+        Assert.assertEquals("v3", service.get("created", String.class));
+    }
+
+    @Test
+    public void test_pushReplacesAbsentKey() {
+        DynamicConfigCenterService service = new DynamicConfigCenterService(properties, redissonClient);
+        Assert.assertNull(service.get("created", String.class));
+
+        store.put(properties.getKey("created"), "v1");
+        service.adjustAttributeValue(new AttributeVO("created", "v2"));
+        Assert.assertEquals("v2", service.get("created", String.class));
+        Assert.assertTrue(service.getVersion("created") > 0);
+    }
+
+    @Test
+    public void test_pushFansOutToEveryBean() {
+        DynamicConfigCenterService service = new DynamicConfigCenterService(properties, redissonClient);
+        SwitchBean first = new SwitchBean();
+        SwitchBean second = new SwitchBean();
+        UnindexedBean other = new UnindexedBean();
+        service.proxyObject(first);
+        service.proxyObject(second);
+        service.proxyObject(other);
+        service.bootstrap();
+
+        service.adjustAttributeValue(new AttributeVO("downgradeSwitch", "1"));
+        Assert.assertEquals("1", first.downgradeSwitch);
+        Assert.assertEquals("1", second.downgradeSwitch);
+        Assert.assertEquals("1", other.downgradeSwitch);
+
+        // A value one holder cannot parse is reported, after every binding had its turn
+        service.adjustAttributeValue(new AttributeVO("timeout", "300"));
+        try {
+            service.adjustAttributeValue(new AttributeVO("timeout", "xyz"));
+            Assert.fail();
+        } catch (NumberFormatException expected) {
+            Assert.assertEquals(1, expected.getSuppressed().length);
+        }
+        Assert.assertEquals(300, first.timeout.longValue());
+        Assert.assertEquals(300, second.timeout.longValue());
+    }
+
+    @Test
+    public void test_nonSingletonsTakeCurrentValuesAndAreNotKept() {
+        store.put(properties.getKey("timeout"), "250");
+        DynamicConfigCenterService service = new DynamicConfigCenterService(properties, redissonClient);
+        SwitchBean singleton = new SwitchBean();
+        service.proxyObject(singleton);
+        service.bootstrap();
+
+        SwitchBean prototype = new SwitchBean();
+        service.proxyObject(prototype, false);
+        Assert.assertEquals(250, prototype.timeout.longValue());
+        Assert.assertEquals("0", prototype.downgradeSwitch);
+
+        // Pushes reach the singleton only; later instances see the new value
+        service.adjustAttributeValue(new AttributeVO("timeout", "300"));
+        Assert.assertEquals(300, singleton.timeout.longValue());
+        Assert.assertEquals(250, prototype.timeout.longValue());
+        SwitchBean next = new SwitchBean();
+        service.proxyObject(next, false);
+        Assert.assertEquals(300, next.timeout.longValue());
+
+        // Served from the snapshot: no batch per instance
+        verify(redissonClient, times(1)).createBatch();
+    }
+
+}
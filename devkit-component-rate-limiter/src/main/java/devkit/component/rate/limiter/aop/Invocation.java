@@ -0,0 +1,9 @@
+package devkit.component.rate.limiter.aop;
+
+/** Deferred call of the intercepted method or its fallback */
+@FunctionalInterface
+interface Invocation {
+
+    Object invoke() throws Throwable;
+
+}
@@ -0,0 +1,40 @@
+package devkit.component.rate.limiter.aop;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/** One async wait for a permit; the continuation or a cancel, whichever comes first, owns the outcome */
+final class PermitWait {
+
+    private final CompletableFuture<Boolean> acquired;
+
+    /** Gives back held permits, and the awaited one when it was granted */
+    private final Consumer<Boolean> onCancelled;
+
+    private final AtomicBoolean settled = new AtomicBoolean();
+
+    PermitWait(CompletableFuture<Boolean> acquired, Consumer<Boolean> onCancelled) {
+        this.acquired = acquired;
+        this.onCancelled = onCancelled;
+    }
+
+    CompletableFuture<Boolean> getAcquired() {
+        return acquired;
+    }
+
+    /** False when cancelled first; the continuation must not run */
+    boolean start() {
+        return settled.compareAndSet(false, true);
+    }
+
+    /** Stop waiting; a permit granted but not yet used is refunded */
+    void cancel() {
+        if (!settled.compareAndSet(false, true)) {
+            return;
+        }
+        boolean granted = !acquired.cancel(false) && !acquired.isCompletedExceptionally() && acquired.join();
+        onCancelled.accept(granted);
+    }
+
+}
@@ -1,12 +1,28 @@
 package devkit.component.rate.limiter.aop;
 
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.TypeReference;
 import devkit.component.dynamic.config.center.types.annotations.DCCValue;
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.model.valobj.RateLimitOverrideVO;
+import devkit.component.rate.limiter.domain.model.valobj.RateLimiterPlanVO;
+import devkit.component.rate.limiter.domain.service.blacklist.KeyBlacklist;
+import devkit.component.rate.limiter.domain.service.fallback.FallbackHandleFactory;
+import devkit.component.rate.limiter.domain.service.key.KeyExtractorFactory;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiterEngine;
+import devkit.component.rate.limiter.domain.service.metrics.IRateLimiterMetrics;
+import devkit.component.rate.limiter.domain.service.metrics.LogSampler;
+import devkit.component.rate.limiter.domain.service.metrics.RejectionRecorder;
+import devkit.component.rate.limiter.domain.service.registry.RateLimiterRegistryFactory;
+import devkit.component.rate.limiter.domain.service.wait.AsyncPermitScheduler;
+import devkit.component.rate.limiter.domain.service.wait.QueuedRateLimiterEngine;
 import devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptor;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.util.concurrent.RateLimiter;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+import devkit.component.rate.limiter.types.enums.LimitMode;
+import devkit.component.rate.limiter.types.enums.RejectReason;
+import devkit.component.rate.limiter.types.enums.ReturnKind;
 import org.apache.commons.lang.StringUtils;
-import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.Around;
@@ -15,198 +31,563 @@ import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
 
-import java.lang.reflect.Field;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 @Aspect
-public class RateLimiterAOP {
+public class RateLimiterAOP implements BeanFactoryAware {
 
     private final Logger log = LoggerFactory.getLogger(RateLimiterAOP.class);
 
-    @DCCValue("rateLimiterSwitch:open")
-    private String rateLimiterSwitch = "open";
+    // Switch: blank or "close" bypasses every limit. A plain field, so the aspect runs without the DCC module
+    private volatile boolean rateLimiterOpen = true;
+
+    // Limit overrides from the DCC, per plan id
+    private volatile Map<String, RateLimitOverrideVO> overrides = Collections.emptyMap();
+
+    // Limiter engines, per mode
+    private final Map<LimitMode, IRateLimiterEngine> rateLimiterEngines = new EnumMap<>(LimitMode.class);
+
+    private final KeyExtractorFactory keyExtractorFactory = new KeyExtractorFactory();
+
+    private final RateLimiterRegistryFactory registryFactory;
+
+    private final AsyncPermitScheduler asyncPermitScheduler;
+
+    private final FallbackHandleFactory fallbackHandleFactory = new FallbackHandleFactory();
+
+    private final IRateLimiterMetrics metrics;
+
+    private final RejectionRecorder rejectionRecorder;
 
-    // Per-user rate cache, 1 minute
-    private final Cache<String, RateLimiter> loginRecord = CacheBuilder.newBuilder()
-            .expireAfterWrite(1, TimeUnit.MINUTES)
-            .build();
+    // Blocked lines are sampled: logging every rejection would slow a flood down further
+    private final LogSampler blockedLogSampler;
 
-    // Blacklist, 24 hours
-    private final Cache<String, Long> blacklist = CacheBuilder.newBuilder()
-            .expireAfterWrite(24, TimeUnit.HOURS)
-            .build();
+    // Compiled plans, per method
+    private final Map<Method, RateLimiterPlanVO[]> plans = new ConcurrentHashMap<>();
 
-    @Pointcut("@annotation(devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptor)")
+    public RateLimiterAOP(List<IRateLimiterEngine> rateLimiterEngines) {
+        this(rateLimiterEngines, new RateLimiterRegistryFactory(), new AsyncPermitScheduler());
+    }
+
+    public RateLimiterAOP(List<IRateLimiterEngine> rateLimiterEngines, RateLimiterRegistryFactory registryFactory,
+                          AsyncPermitScheduler asyncPermitScheduler) {
+        this(rateLimiterEngines, registryFactory, asyncPermitScheduler, IRateLimiterMetrics.NOOP, new RejectionRecorder(), new LogSampler(1000));
+    }
+
+    public RateLimiterAOP(List<IRateLimiterEngine> rateLimiterEngines, RateLimiterRegistryFactory registryFactory,
+                          AsyncPermitScheduler asyncPermitScheduler, IRateLimiterMetrics metrics, RejectionRecorder rejectionRecorder,
+                          LogSampler blockedLogSampler) {
+        this.registryFactory = registryFactory;
+        this.asyncPermitScheduler = asyncPermitScheduler;
+        this.metrics = metrics;
+        this.rejectionRecorder = rejectionRecorder;
+        this.blockedLogSampler = blockedLogSampler;
+        for (IRateLimiterEngine rateLimiterEngine : rateLimiterEngines) {
+            IRateLimiterEngine existing = this.rateLimiterEngines.putIfAbsent(rateLimiterEngine.mode(), rateLimiterEngine);
+            if (null != existing) {
+                throw new IllegalStateException("Duplicate rate limiter engine for mode " + rateLimiterEngine.mode()
+                        + ": " + existing.getClass().getName() + ", " + rateLimiterEngine.getClass().getName());
+            }
+        }
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        fallbackHandleFactory.setBeanFactory(beanFactory);
+    }
+
+    @Pointcut("@annotation(devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptor)"
+            + " || @annotation(devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptors)")
     public void aopPoint() {
     }
 
-    @Around("aopPoint() && @annotation(rateLimiterAccessInterceptor)")
-    public Object doRouter(ProceedingJoinPoint jp, RateLimiterAccessInterceptor rateLimiterAccessInterceptor) throws Throwable {
-        // Switch: open/close
-        if (StringUtils.isBlank(rateLimiterSwitch) || "close".equals(rateLimiterSwitch)) {
+    @Around("aopPoint()")
+    public Object doRouter(ProceedingJoinPoint jp) throws Throwable {
+        if (!rateLimiterOpen) {
             log.debug("Rate limit disabled");
             return jp.proceed();
         }
 
-        String key = rateLimiterAccessInterceptor.key();
-        if (StringUtils.isBlank(key)) {
-            throw new RuntimeException("annotation RateLimiter key is null！");
+        RateLimiterPlanVO[] levels = getPlans(jp);
+        // Reactive waits and concurrency permits are taken on subscription, once per subscription
+        if (acquiresOnSubscribe(levels)) {
+            switch (levels[0].getReturnKind()) {
+                case MONO:
+                    return ReactiveResults.deferMono(() -> route(jp, levels, 0, null));
+                case FLUX:
+                    return ReactiveResults.deferFlux(() -> route(jp, levels, 0, null));
+                default:
+                    break;
+            }
         }
-        // Resolve key attr
-        String keyAttr = getAttrValue(key, jp.getArgs());
-        if (StringUtils.isBlank(keyAttr)) {
-            return jp.proceed();
+        return route(jp, levels, 0, null);
+    }
+
+    private static boolean acquiresOnSubscribe(RateLimiterPlanVO[] levels) {
+        for (RateLimiterPlanVO level : levels) {
+            if (level.isAsyncWait() || level.isReleaseRequired()) {
+                return true;
+            }
         }
-        log.debug("Rate limit check key: {}, attr: {}, method: {}", key, keyAttr, jp.getSignature().toShortString());
-
-        // Blacklist check
-        if (!"all".equals(keyAttr) && rateLimiterAccessInterceptor.blacklistCount() != 0) {
-            Long blacklistCount = blacklist.getIfPresent(keyAttr);
-            if (blacklistCount != null && blacklistCount > rateLimiterAccessInterceptor.blacklistCount()) {
-                log.info("Blocked: blacklisted, attr: {}", keyAttr);
-                try {
-                    return fallbackMethodResult(jp, rateLimiterAccessInterceptor.fallbackMethod());
-                } catch (Exception e) {
-                    log.error("Fallback failed, method: {}", rateLimiterAccessInterceptor.fallbackMethod(), e);
-                    throw e;
+        return false;
+    }
+
+    /**
+     * Acquire each limit level from the given one on, then proceed. Permits taken
+     * by earlier levels are held, and refunded when a later level rejects.
+     */
+    private Object route(ProceedingJoinPoint jp, RateLimiterPlanVO[] levels, int from, IRateLimiter[] held) throws Throwable {
+        for (int i = from; i < levels.length; i++) {
+            RateLimiterPlanVO plan = levels[i];
+
+            // Resolve key attr
+            String keyAttr = plan.getKeyExtractor().extract(jp.getArgs());
+            if (StringUtils.isBlank(keyAttr)) {
+                continue;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Rate limit check key: {}, attr: {}, method: {}", plan.getKey(), keyAttr, plan.getName());
+            }
+
+            // Blacklist check
+            if (!RateLimiterAccessInterceptor.ALL.equals(keyAttr) && plan.isBlacklistEnabled()) {
+                if (plan.getBlacklist().isBanned(keyAttr)) {
+                    refund(held, i);
+                    return blocked(jp, plan, keyAttr, RejectReason.BLACKLISTED);
                 }
             }
+
+            // A permit nothing holds on to is taken through the store, which may skip the limiter object
+            IRateLimiter rateLimiter = null;
+            boolean acquired;
+            if (levels.length == 1 && !plan.isReleaseRequired() && plan.getMaxWaitNanos() == 0) {
+                acquired = plan.getLimiterRegistry().tryAcquire(keyAttr);
+            } else {
+                // Get or create limiter (cached), try acquire, queued up to maxWait
+                rateLimiter = plan.getLimiterRegistry().getOrCreate(keyAttr);
+                acquired = plan.getMaxWaitNanos() > 0
+                        ? rateLimiter.tryAcquire(plan.getMaxWaitNanos(), TimeUnit.NANOSECONDS)
+                        : rateLimiter.tryAcquire();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Acquire permit, attr: {}, acquired: {}, rps: {}", keyAttr, acquired, plan.getPermitsPerSecond());
+            }
+
+            if (!acquired) {
+                if (plan.isAsyncWait()) {
+                    return waitAsync(jp, levels, i, held, keyAttr,
+                            null != rateLimiter ? rateLimiter : plan.getLimiterRegistry().getOrCreate(keyAttr));
+                }
+                refund(held, i);
+                return rejected(jp, plan, keyAttr);
+            }
+            held = hold(levels, held, i, rateLimiter);
         }
 
-        // Build limiter (cached)
-        RateLimiter rateLimiter = loginRecord.getIfPresent(keyAttr);
-        if (null == rateLimiter) {
-            rateLimiter = RateLimiter.create(rateLimiterAccessInterceptor.permitsPerSecond());
-            loginRecord.put(keyAttr, rateLimiter);
-            log.debug("Create limiter, attr: {}, rps: {}", keyAttr, rateLimiterAccessInterceptor.permitsPerSecond());
+        log.debug("Allowed, method: {}", levels[0].getName());
+        metrics.allowed(levels[0]);
+        // Return result
+        return null == held ? jp.proceed() : proceedAndRelease(jp, levels, held);
+    }
+
+    /** Track a taken permit when it may need a refund or a release */
+    private static IRateLimiter[] hold(RateLimiterPlanVO[] levels, IRateLimiter[] held, int level, IRateLimiter rateLimiter) {
+        if (levels.length == 1 && !levels[0].isReleaseRequired()) {
+            return held;
         }
+        if (null == held) {
+            held = new IRateLimiter[levels.length];
+        }
+        held[level] = rateLimiter;
+        return held;
+    }
 
-        // Try acquire
-        boolean acquired = rateLimiter.tryAcquire();
-        log.debug("Acquire permit, attr: {}, acquired: {}, rps: {}", keyAttr, acquired, rateLimiterAccessInterceptor.permitsPerSecond());
-        
-        if (!acquired) {
-            log.info("Blocked: rate exceeded, attr: {}, rps: {}", keyAttr, rateLimiterAccessInterceptor.permitsPerSecond());
-            
-            // Update blacklist count
-            if (rateLimiterAccessInterceptor.blacklistCount() != 0) {
-                Long currentCount = blacklist.getIfPresent(keyAttr);
-                long newCount = (currentCount == null ? 0L : currentCount) + 1L;
-                blacklist.put(keyAttr, newCount);
-                log.debug("Blacklist count updated, attr: {}, count: {}", keyAttr, newCount);
+    /** Give back permits of the levels before the rejecting one */
+    private static void refund(IRateLimiter[] held, int upTo) {
+        if (null == held) {
+            return;
+        }
+        for (int i = 0; i < upTo; i++) {
+            if (null != held[i]) {
+                held[i].refund();
             }
-            
-            try {
-                return fallbackMethodResult(jp, rateLimiterAccessInterceptor.fallbackMethod());
-            } catch (Exception e) {
-                log.error("Fallback failed, method: {}", rateLimiterAccessInterceptor.fallbackMethod(), e);
-                throw e;
+        }
+    }
+
+    /** Proceed; concurrency levels get their permit back with the call's latency once it finishes, async results included */
+    private Object proceedAndRelease(ProceedingJoinPoint jp, RateLimiterPlanVO[] levels, IRateLimiter[] held) throws Throwable {
+        boolean releaseRequired = false;
+        for (RateLimiterPlanVO level : levels) {
+            releaseRequired |= level.isReleaseRequired();
+        }
+        if (!releaseRequired) {
+            return jp.proceed();
+        }
+
+        long start = System.nanoTime();
+        // Once, whichever of error, completion or cancel comes first
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            long latencyNanos = System.nanoTime() - start;
+            for (int i = 0; i < levels.length; i++) {
+                if (null != held[i] && levels[i].isReleaseRequired()) {
+                    held[i].release(latencyNanos);
+                }
             }
+        };
+        Object result;
+        try {
+            result = jp.proceed();
+        } catch (Throwable e) {
+            release.run();
+            throw e;
+        }
+        if (null == result) {
+            release.run();
+            return null;
         }
 
-        log.debug("Allowed, attr: {}", keyAttr);
-        // Return result
-        return jp.proceed();
+        switch (levels[0].getReturnKind()) {
+            case COMPLETION_STAGE:
+                ((CompletionStage<?>) result).whenComplete((value, error) -> release.run());
+                return result;
+            case MONO:
+                return ReactiveResults.doFinallyMono(result, release);
+            case FLUX:
+                return ReactiveResults.doFinallyFlux(result, release);
+            default:
+                release.run();
+                return result;
+        }
     }
 
-    /** Invoke fallback when blocked */
-    private Object fallbackMethodResult(JoinPoint jp, String fallbackMethod) throws Exception {
-        if (jp == null || jp.getTarget() == null || jp.getSignature() == null) {
-            throw new IllegalArgumentException("JoinPoint is incomplete");
+    /** Rate exceeded: count towards blacklist, then fallback */
+    private Object rejected(ProceedingJoinPoint jp, RateLimiterPlanVO plan, String keyAttr) throws Throwable {
+        // Update blacklist count
+        if (plan.isBlacklistEnabled() && !RateLimiterAccessInterceptor.ALL.equals(keyAttr)) {
+            plan.getBlacklist().recordRejection(keyAttr);
+            log.debug("Blacklist count updated, attr: {}", keyAttr);
         }
-        
-        if (fallbackMethod == null || fallbackMethod.trim().isEmpty()) {
-            throw new IllegalArgumentException("Fallback method is blank");
+
+        return blocked(jp, plan, keyAttr, RejectReason.RATE_EXCEEDED);
+    }
+
+    /** Blocked: metrics, sampled event and log, then fallback */
+    private Object blocked(ProceedingJoinPoint jp, RateLimiterPlanVO plan, String keyAttr, RejectReason reason) throws Throwable {
+        metrics.rejected(plan, reason);
+        rejectionRecorder.record(plan, keyAttr, reason);
+        long suppressed = blockedLogSampler.tryLog();
+        if (suppressed >= 0 && log.isInfoEnabled()) {
+            log.info("Blocked: {}, attr: {}, method: {}, rps: {}, suppressed since last: {}",
+                    reason, keyAttr, plan.getName(), plan.getPermitsPerSecond(), suppressed);
         }
-        
+
+        return fallbackMethodResult(jp, plan);
+    }
+
+    /**
+     * Async result that goes on with the next levels once a permit frees up, or runs the fallback at the wait timeout.
+     * The continuation, and so the method, runs on the scheduler's completion executor: caller ThreadLocals
+     * (MDC, security context, transactions) are not there unless that executor carries them.
+     */
+    private Object waitAsync(ProceedingJoinPoint jp, RateLimiterPlanVO[] levels, int level, IRateLimiter[] held,
+                             String keyAttr, IRateLimiter rateLimiter) {
+        RateLimiterPlanVO plan = levels[level];
+        log.debug("Waiting for permit, attr: {}, timeout: {}ns", keyAttr, plan.getWaitTimeoutNanos());
+        CompletableFuture<Boolean> acquired = asyncPermitScheduler.acquire(rateLimiter, plan.getPermitSpacingNanos(), plan.getWaitTimeoutNanos());
+        PermitWait wait = new PermitWait(acquired, granted -> {
+            refund(held, level);
+            if (granted) {
+                rateLimiter.refund();
+            }
+        });
+        Invocation onAcquired = () -> route(jp, levels, level + 1, hold(levels, held, level, rateLimiter));
+        Invocation onRejected = () -> {
+            refund(held, level);
+            return rejected(jp, plan, keyAttr);
+        };
+
+        switch (plan.getReturnKind()) {
+            case MONO:
+                return ReactiveResults.awaitMono(wait, onAcquired, onRejected);
+            case FLUX:
+                return ReactiveResults.awaitFlux(wait, onAcquired, onRejected);
+            default:
+                CompletableFuture<Object> result = acquired.thenCompose(granted -> wait.start()
+                        ? toCompletionStage(granted ? onAcquired : onRejected)
+                        : CompletableFuture.completedFuture(null));
+                // A caller cancelling the result stops the wait
+                result.whenComplete((value, error) -> {
+                    if (result.isCancelled()) {
+                        wait.cancel();
+                    }
+                });
+                return result;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletionStage<Object> toCompletionStage(Invocation invocation) {
+        try {
+            Object result = invocation.invoke();
+            return null == result ? CompletableFuture.completedFuture(null) : (CompletionStage<Object>) result;
+        } catch (Throwable e) {
+            CompletableFuture<Object> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    /** Get or compile the limit levels of the intercepted method */
+    private RateLimiterPlanVO[] getPlans(ProceedingJoinPoint jp) {
         Signature sig = jp.getSignature();
         if (!(sig instanceof MethodSignature)) {
             throw new IllegalArgumentException("Not a MethodSignature");
         }
-        
-        MethodSignature methodSignature = (MethodSignature) sig;
-        Method method = jp.getTarget().getClass().getMethod(fallbackMethod, methodSignature.getParameterTypes());
-        return method.invoke(jp.getThis(), jp.getArgs());
+        Method method = ((MethodSignature) sig).getMethod();
+
+        RateLimiterPlanVO[] levels = plans.get(method);
+        if (null != levels) {
+            return levels;
+        }
+        return precompile(method, jp.getTarget().getClass());
     }
 
-    /** Get key value by attr */
-    public String getAttrValue(String attr, Object[] args) {
-        if (args == null || args.length == 0) {
-            return null;
+    /** Compile the limit levels of a method ahead of its first call; interface and implementation method share them */
+    public RateLimiterPlanVO[] precompile(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        RateLimiterPlanVO[] levels = plans.computeIfAbsent(specificMethod, m -> compilePlans(method, targetClass));
+        if (!specificMethod.equals(method)) {
+            plans.putIfAbsent(method, levels);
         }
-        
-        // First arg is String
-        if (args[0] != null && args[0] instanceof String) {
-            String value = args[0].toString();
-            log.debug("Use first String arg, attr: {}, value: {}", attr, value);
-            return value;
-        }
-        
-        // If attr is "all"
-        if ("all".equals(attr)) {
-            return "all";
-        }
-        
-        // Try to read field from object args
-        String filedValue = null;
-        for (Object arg : args) {
-            if (arg == null) {
-                continue;
-            }
-            try {
-                if (StringUtils.isNotBlank(filedValue)) {
-                    break;
-                }
-                // Use reflection to read field
-                Object value = this.getValueByName(arg, attr);
-                if (value != null) {
-                    filedValue = String.valueOf(value);
-                }
-            } catch (Exception e) {
-                log.debug("Read field failed, attr: {}, class: {}", attr, arg.getClass().getName(), e);
+        return levels;
+    }
+
+    /** One plan per annotation, in declaration order */
+    private RateLimiterPlanVO[] compilePlans(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        RateLimiterAccessInterceptor[] annotations = specificMethod.getAnnotationsByType(RateLimiterAccessInterceptor.class);
+        if (annotations.length == 0) {
+            annotations = method.getAnnotationsByType(RateLimiterAccessInterceptor.class);
+        }
+        if (annotations.length == 0) {
+            throw new IllegalStateException("No RateLimiterAccessInterceptor on method: " + method.getName());
+        }
+
+        RateLimiterPlanVO[] levels = new RateLimiterPlanVO[annotations.length];
+        for (int i = 0; i < annotations.length; i++) {
+            levels[i] = compilePlan(method, targetClass, annotations[i], i);
+        }
+        return levels;
+    }
+
+    /** Compile annotation attributes into a plan */
+    private RateLimiterPlanVO compilePlan(Method method, Class<?> targetClass, RateLimiterAccessInterceptor rateLimiterAccessInterceptor, int level) {
+        String key = rateLimiterAccessInterceptor.key();
+        if (StringUtils.isBlank(key)) {
+            throw new RuntimeException("annotation RateLimiter key is null！");
+        }
+
+        LimitMode mode = rateLimiterAccessInterceptor.mode();
+        IRateLimiterEngine rateLimiterEngine = rateLimiterEngines.get(mode);
+        if (null == rateLimiterEngine) {
+            throw new IllegalStateException("No rate limiter engine for mode " + mode + ", method: " + method.getName());
+        }
+
+        LimitSpecVO limitSpec = compileLimitSpec(method, rateLimiterAccessInterceptor);
+        if (!rateLimiterEngine.supports(limitSpec.getAlgorithm())) {
+            throw new IllegalStateException("Algorithm " + limitSpec.getAlgorithm() + " not supported in mode " + mode + ", method: " + method.getName());
+        }
+
+        // Resolve fallback once; a missing one fails the plan
+        MethodHandle fallback = fallbackHandleFactory.create(method, targetClass, rateLimiterAccessInterceptor);
+        String fallbackName = StringUtils.isNotBlank(rateLimiterAccessInterceptor.fallbackMethod())
+                ? rateLimiterAccessInterceptor.fallbackMethod() : rateLimiterAccessInterceptor.fallbackConstant();
+
+        // Async results wait on a timer (waitTimeout), sync callers in a queue (maxWaitMillis)
+        ReturnKind returnKind = ReturnKind.of(method);
+        long waitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, rateLimiterAccessInterceptor.waitTimeout()));
+        if (waitTimeoutNanos > 0 && !returnKind.isAsync()) {
+            log.warn("waitTimeout ignored on synchronous method: {}", method.getName());
+        }
+        long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, rateLimiterAccessInterceptor.maxWaitMillis()));
+        if (maxWaitNanos > 0 && returnKind.isAsync()) {
+            log.warn("maxWaitMillis ignored on async method, use waitTimeout: {}", method.getName());
+            maxWaitNanos = 0;
+        }
+        if (maxWaitNanos > 0) {
+            rateLimiterEngine = new QueuedRateLimiterEngine(rateLimiterEngine, rateLimiterAccessInterceptor.maxQueueDepth());
+        }
+
+        boolean numericKey = rateLimiterAccessInterceptor.numericKey();
+        if (numericKey && (mode != LimitMode.LOCAL || limitSpec.getAlgorithm() != LimitAlgorithm.TOKEN_BUCKET || maxWaitNanos > 0)) {
+            throw new IllegalStateException("numericKey needs LOCAL mode, TOKEN_BUCKET and no maxWaitMillis, method: " + method.getName());
+        }
+        if (numericKey && RateLimiterAccessInterceptor.ALL.equals(key)) {
+            throw new IllegalStateException("numericKey needs a numeric key attribute, not " + key + ", method: " + method.getName());
+        }
+
+        // Overloads differ by parameter types; later levels of a composite limit get their own id, so their own limiters
+        String signature = signature(method) + (level == 0 ? "" : "@" + level);
+        String id = targetClass.getName() + "#" + signature;
+        RateLimiterPlanVO plan = new RateLimiterPlanVO(
+                id,
+                targetClass.getSimpleName() + "." + signature,
+                key,
+                keyExtractorFactory.create(key, method),
+                mode,
+                limitSpec,
+                rateLimiterAccessInterceptor.blacklistCount(),
+                rateLimiterAccessInterceptor.blacklistCount() > 0
+                        ? new KeyBlacklist(rateLimiterAccessInterceptor.blacklistCount(), rateLimiterAccessInterceptor.blacklistBanMillis(),
+                        rateLimiterAccessInterceptor.blacklistDecayMillis())
+                        : null,
+                returnKind,
+                waitTimeoutNanos,
+                maxWaitNanos,
+                fallbackName,
+                fallback,
+                numericKey
+                        ? registryFactory.createLongKeyTable(rateLimiterEngine, id, limitSpec)
+                        : registryFactory.create(rateLimiterEngine, id, limitSpec));
+
+        applyOverride(plan, overrides.get(id));
+        log.info("Rate limit plan compiled, method: {}, key: {}, mode: {}, limit: {}", plan.getName(), key, mode, plan.getLimitSpec());
+        return plan;
+    }
+
+    /** name(Type1,Type2), simple parameter type names */
+    static String signature(Method method) {
+        StringBuilder signature = new StringBuilder(method.getName()).append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                signature.append(',');
             }
+            signature.append(parameterTypes[i].getSimpleName());
         }
-        
-        return filedValue;
+        return signature.append(')').toString();
     }
 
-    /** Get a field value */
-    private Object getValueByName(Object item, String name) {
+    /** Rate from permitsPerSecond, or permits per window */
+    private LimitSpecVO compileLimitSpec(Method method, RateLimiterAccessInterceptor rateLimiterAccessInterceptor) {
+        double permitsPerSecond = rateLimiterAccessInterceptor.permitsPerSecond();
+        long permits = rateLimiterAccessInterceptor.permits();
+        long windowNanos = rateLimiterAccessInterceptor.windowUnit().toNanos(rateLimiterAccessInterceptor.window());
+        if (windowNanos <= 0) {
+            throw new IllegalArgumentException("annotation RateLimiter window must be positive, method: " + method.getName());
+        }
+        if ((permitsPerSecond > 0) == (permits > 0)) {
+            throw new IllegalArgumentException("annotation RateLimiter needs exactly one of permitsPerSecond, permits, method: " + method.getName());
+        }
+        if (permits > 0) {
+            permitsPerSecond = permits * 1_000_000_000d / windowNanos;
+        }
+        return new LimitSpecVO(rateLimiterAccessInterceptor.algorithm(), permitsPerSecond, windowNanos);
+    }
+
+    @DCCValue("rateLimiterSwitch:open")
+    public void setRateLimiterSwitch(String rateLimiterSwitch) {
+        rateLimiterOpen = !(StringUtils.isBlank(rateLimiterSwitch) || "close".equals(rateLimiterSwitch));
+    }
+
+    /**
+     * Per-plan limit overrides, JSON keyed by plan id (class#method(types), @N for later levels), e.g.
+     * {"cn.x.OrderService#order(String,long)": {"permitsPerSecond": 5, "blacklistCount": 20}}. Applied to live
+     * limiters in place; a plan left out goes back to its annotation values.
+     */
+    @DCCValue("rateLimiterOverrides:{}")
+    public void setRateLimiterOverrides(String json) {
+        Map<String, RateLimitOverrideVO> parsed;
         try {
-            Field field = getFieldByName(item, name);
-            if (field == null) {
-                return null;
-            }
-            field.setAccessible(true);
-            Object o = field.get(item);
-            field.setAccessible(false);
-            return o;
-        } catch (IllegalAccessException e) {
-            return null;
+            parsed = StringUtils.isBlank(json) ? Collections.emptyMap()
+                    : JSON.parseObject(json, new TypeReference<Map<String, RateLimitOverrideVO>>() {
+            });
+        } catch (RuntimeException e) {
+            log.error("Rate limit overrides not applied, bad JSON: {}", json, e);
+            return;
+        }
+        overrides = null == parsed ? Collections.emptyMap() : parsed;
+
+        // Plans compiled later pick theirs up on compile
+        for (RateLimiterPlanVO plan : getPlans()) {
+            applyOverride(plan, overrides.get(plan.getId()));
         }
     }
 
-    /** Get a declared field by name, including superclass */
-    private Field getFieldByName(Object item, String name) {
+    /** Limit in force: the override, or the declared values when there is none */
+    private void applyOverride(RateLimiterPlanVO plan, RateLimitOverrideVO override) {
         try {
-            Field field;
-            try {
-                field = item.getClass().getDeclaredField(name);
-            } catch (NoSuchFieldException e) {
-                Class<?> superclass = item.getClass().getSuperclass();
-                if (superclass == null || superclass == Object.class) {
-                    return null;
+            LimitSpecVO limitSpec = null == override ? plan.getDeclaredLimitSpec() : override.apply(plan.getDeclaredLimitSpec());
+            if (limitSpec.getPermitsPerSecond() != plan.getLimitSpec().getPermitsPerSecond()) {
+                plan.updateLimitSpec(limitSpec);
+                log.info("Rate limit updated, method: {}, limit: {}", plan.getName(), limitSpec);
+            }
+
+            double blacklistCount = null == override || null == override.getBlacklistCount()
+                    ? plan.getDeclaredBlacklistCount() : override.getBlacklistCount();
+            if (blacklistCount != plan.getBlacklistCount()) {
+                if (null == plan.getBlacklist()) {
+                    log.warn("Blacklist override ignored, none declared, method: {}", plan.getName());
+                } else {
+                    plan.getBlacklist().setThreshold(Math.max(0d, blacklistCount));
+                    log.info("Blacklist threshold updated, method: {}, count: {}", plan.getName(), blacklistCount);
                 }
-                field = superclass.getDeclaredField(name);
             }
-            return field;
-        } catch (NoSuchFieldException e) {
-            return null;
+        } catch (IllegalArgumentException e) {
+            log.error("Rate limit override not applied, method: {}", plan.getName(), e);
         }
     }
 
-}
+    /** Compiled plans, one per limit level, for occupancy and inventory */
+    public List<RateLimiterPlanVO> getPlans() {
+        List<RateLimiterPlanVO> compiled = new ArrayList<>();
+        Set<RateLimiterPlanVO[]> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (RateLimiterPlanVO[] levels : plans.values()) {
+            if (seen.add(levels)) {
+                Collections.addAll(compiled, levels);
+            }
+        }
+        return compiled;
+    }
 
+    /** Invoke fallback when blocked */
+    private Object fallbackMethodResult(ProceedingJoinPoint jp, RateLimiterPlanVO plan) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = (Object) plan.getFallback().invokeExact(jp.getThis(), jp.getArgs());
+            metrics.fallback(plan, System.nanoTime() - start, false);
+            return result;
+        } catch (Throwable e) {
+            metrics.fallback(plan, System.nanoTime() - start, true);
+            throw e;
+        }
+    }
+
+    /** Sampled recent rejections and heavy hitters */
+    public RejectionRecorder getRejectionRecorder() {
+        return rejectionRecorder;
+    }
+
+}
@@ -0,0 +1,68 @@
+package devkit.component.rate.limiter.aop;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+/** Reactor adapters; only loaded for methods returning Mono or Flux */
+final class ReactiveResults {
+
+    private ReactiveResults() {
+    }
+
+    /** Mono that runs the invocation on each subscription, so nothing is acquired until then */
+    static Mono<Object> deferMono(Invocation invocation) {
+        return Mono.defer(() -> toMono(invocation));
+    }
+
+    /** Flux that runs the invocation on each subscription, so nothing is acquired until then */
+    static Flux<Object> deferFlux(Invocation invocation) {
+        return Flux.defer(() -> toFlux(invocation));
+    }
+
+    /** Mono that waits for the permit, then subscribes to the method's or the fallback's Mono; cancelling gives the permits back */
+    static Mono<Object> awaitMono(PermitWait wait, Invocation onAcquired, Invocation onRejected) {
+        return Mono.fromFuture(wait.getAcquired())
+                .doOnCancel(wait::cancel)
+                .flatMap(granted -> wait.start() ? toMono(granted ? onAcquired : onRejected) : Mono.empty());
+    }
+
+    /** Flux that waits for the permit, then subscribes to the method's or the fallback's Flux; cancelling gives the permits back */
+    static Flux<Object> awaitFlux(PermitWait wait, Invocation onAcquired, Invocation onRejected) {
+        return Mono.fromFuture(wait.getAcquired())
+                .doOnCancel(wait::cancel)
+                .flatMapMany(granted -> wait.start() ? toFlux(granted ? onAcquired : onRejected) : Flux.empty());
+    }
+
+    /** Runs release once the Mono completes, fails or is cancelled */
+    static Object doFinallyMono(Object mono, Runnable release) {
+        return ((Mono<?>) mono).doFinally(signal -> release.run());
+    }
+
+    /** Runs release once the Flux completes, fails or is cancelled */
+    static Object doFinallyFlux(Object flux, Runnable release) {
+        return ((Flux<?>) flux).doFinally(signal -> release.run());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Mono<Object> toMono(Invocation invocation) {
+        try {
+            Object result = invocation.invoke();
+            return null == result ? Mono.empty() : (Mono<Object>) result;
+        } catch (Throwable e) {
+            return Mono.error(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Flux<Object> toFlux(Invocation invocation) {
+        try {
+            Object result = invocation.invoke();
+            return null == result ? Flux.empty() : (Flux<Object>) result;
+        } catch (Throwable e) {
+            return Flux.error(e);
+        }
+    }
+
+}
@@ -1,15 +1,134 @@
 package devkit.component.rate.limiter.config;
 
 import devkit.component.rate.limiter.aop.RateLimiterAOP;
+import devkit.component.rate.limiter.endpoint.RateLimiterEndpoint;
+import devkit.component.rate.limiter.endpoint.RateLimiterRejectionsEndpoint;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiterEngine;
+import devkit.component.rate.limiter.domain.service.limiter.LocalRateLimiterEngine;
+import devkit.component.rate.limiter.domain.service.limiter.redis.LeasedRateLimiterEngine;
+import devkit.component.rate.limiter.domain.service.metrics.IRateLimiterMetrics;
+import devkit.component.rate.limiter.domain.service.metrics.LogSampler;
+import devkit.component.rate.limiter.domain.service.metrics.MicrometerRateLimiterMetrics;
+import devkit.component.rate.limiter.domain.service.metrics.RejectionRecorder;
+import devkit.component.rate.limiter.domain.service.limiter.redis.RedisTokenBucketRateLimiterEngine;
+import devkit.component.rate.limiter.domain.service.limiter.redis.RedisTokenBucketScript;
+import devkit.component.rate.limiter.domain.service.registry.RateLimiterRegistryFactory;
+import devkit.component.rate.limiter.domain.service.wait.AsyncPermitScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 @Configuration
+@EnableConfigurationProperties(RateLimiterAutoProperties.class)
 public class RateLimiterAutoConfig {
 
+    /** Local limiter engine; declare a bean with this name to replace */
+    @Bean("rateLimiterEngine")
+    @ConditionalOnMissingBean(name = "rateLimiterEngine")
+    public IRateLimiterEngine rateLimiterEngine() {
+        return new LocalRateLimiterEngine();
+    }
+
+    @Bean
+    public RateLimiterAOP rateLimiterAOP(List<IRateLimiterEngine> rateLimiterEngines, RateLimiterAutoProperties properties,
+                                         AsyncPermitScheduler asyncPermitScheduler, ObjectProvider<IRateLimiterMetrics> rateLimiterMetrics,
+                                         RejectionRecorder rejectionRecorder) {
+        return new RateLimiterAOP(rateLimiterEngines, new RateLimiterRegistryFactory(properties.getRegistryMaximumSize(),
+                properties.getRegistryMaximumWeightBytes(), properties.getRegistryExpireAfterAccessMillis()), asyncPermitScheduler,
+                rateLimiterMetrics.getIfAvailable(() -> IRateLimiterMetrics.NOOP), rejectionRecorder,
+                new LogSampler(properties.getBlockedLogIntervalMillis()));
+    }
+
+    /** Sampled ring of recent rejections and heavy-hitter keys */
+    @Bean
+    public RejectionRecorder rejectionRecorder(RateLimiterAutoProperties properties) {
+        return new RejectionRecorder(properties.getRejectionRingSize(), properties.getRejectionSampleRate(), properties.getHeavyHitterCapacity());
+    }
+
+    /** Compiles plans of all limited methods at startup; static, so it does not pull the aspect in early */
     @Bean
-    public RateLimiterAOP rateLimiterAOP() {
-        return new RateLimiterAOP();
+    @ConditionalOnProperty(prefix = "devkit.component.rate.limiter", name = "precompile-plans", havingValue = "true", matchIfMissing = true)
+    public static RateLimiterPlanPrecompiler rateLimiterPlanPrecompiler(ObjectProvider<RateLimiterAOP> rateLimiterAOP) {
+        return new RateLimiterPlanPrecompiler(rateLimiterAOP);
+    }
+
+    /**
+     * Timer for async methods waiting on a permit. Methods resume on the common pool; declare an
+     * Executor named rateLimiterWaitExecutor, e.g. one that carries MDC or security context, to replace it
+     */
+    @Bean
+    public AsyncPermitScheduler asyncPermitScheduler(RateLimiterAutoProperties properties,
+                                                     @Qualifier("rateLimiterWaitExecutor") ObjectProvider<Executor> waitExecutor) {
+        return new AsyncPermitScheduler(properties.getWaitTimerThreads(), waitExecutor.getIfAvailable(ForkJoinPool::commonPool));
+    }
+
+    /** Decision meters, when Micrometer is present; declare an IRateLimiterMetrics bean to replace */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class RateLimiterMetricsConfig {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public IRateLimiterMetrics rateLimiterMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            return null == registry ? IRateLimiterMetrics.NOOP : new MicrometerRateLimiterMetrics(registry);
+        }
+
+    }
+
+    /** Inventory endpoint of limited methods, when actuator is present */
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    static class RateLimiterEndpointConfig {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RateLimiterEndpoint rateLimiterEndpoint(RateLimiterAOP rateLimiterAOP) {
+            return new RateLimiterEndpoint(rateLimiterAOP);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RateLimiterRejectionsEndpoint rateLimiterRejectionsEndpoint(RejectionRecorder rejectionRecorder) {
+            return new RateLimiterRejectionsEndpoint(rejectionRecorder);
+        }
+
+    }
+
+    /** Distributed engines, backed by the dynamic config center's Redisson client */
+    @Configuration
+    @ConditionalOnClass(name = "org.redisson.api.RedissonClient")
+    static class DistributedRateLimiterConfig {
+
+        @Bean
+        public RedisTokenBucketScript redisTokenBucketScript(@Qualifier("DevKitComponentRedissonClient") ObjectProvider<RedissonClient> redissonClient) {
+            return new RedisTokenBucketScript(redissonClient::getIfAvailable);
+        }
+
+        @Bean("distributedRateLimiterEngine")
+        @ConditionalOnMissingBean(name = "distributedRateLimiterEngine")
+        public IRateLimiterEngine distributedRateLimiterEngine(RedisTokenBucketScript redisTokenBucketScript) {
+            return new RedisTokenBucketRateLimiterEngine(redisTokenBucketScript);
+        }
+
+        @Bean("leasedRateLimiterEngine")
+        @ConditionalOnMissingBean(name = "leasedRateLimiterEngine")
+        public IRateLimiterEngine leasedRateLimiterEngine(RedisTokenBucketScript redisTokenBucketScript, RateLimiterAutoProperties properties) {
+            return new LeasedRateLimiterEngine(redisTokenBucketScript, properties.getLeaseBatchMillis(),
+                    properties.getLeaseTtlMillis(), properties.getLeaseRefillThreads());
+        }
+
     }
 
 }
@@ -0,0 +1,129 @@
+package devkit.component.rate.limiter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "devkit.component.rate.limiter", ignoreInvalidFields = true)
+public class RateLimiterAutoProperties {
+
+    /** LEASED mode: permits per lease, as millis of the global rate (default 100) */
+    private long leaseBatchMillis = 100;
+    /** LEASED mode: unused leased permits expire after (ms, default 1000) */
+    private long leaseTtlMillis = 1000;
+    /** LEASED mode: async refill threads (default 2) */
+    private int leaseRefillThreads = 2;
+    /** Per-method limiter registry: max keys kept (default 100000) */
+    private long registryMaximumSize = 100_000;
+    /** Per-method limiter registry: estimated byte budget, replaces registryMaximumSize when set (default 0) */
+    private long registryMaximumWeightBytes = 0;
+    /** Per-method limiter registry: idle limiters dropped after (ms, default 60000), or after the limit window when longer */
+    private long registryExpireAfterAccessMillis = 60_000;
+    /** Async waits: timer threads polling for permits (default 1) */
+    private int waitTimerThreads = 1;
+    /** Compile plans of all limited methods at startup, failing it on a bad annotation (default true) */
+    private boolean precompilePlans = true;
+    /** Rejections: one in this many goes to the recent ring and heavy-hitter sketch (default 16) */
+    private int rejectionSampleRate = 16;
+    /** Rejections: recent sampled events kept (default 256) */
+    private int rejectionRingSize = 256;
+    /** Rejections: most rejected keys tracked per method (default 32) */
+    private int heavyHitterCapacity = 32;
+    /** Blocked requests: at most one log line per interval (ms, default 1000; 0 logs all) */
+    private long blockedLogIntervalMillis = 1000;
+
+    public long getLeaseBatchMillis() {
+        return leaseBatchMillis;
+    }
+
+    public void setLeaseBatchMillis(long leaseBatchMillis) {
+        this.leaseBatchMillis = leaseBatchMillis;
+    }
+
+    public long getLeaseTtlMillis() {
+        return leaseTtlMillis;
+    }
+
+    public void setLeaseTtlMillis(long leaseTtlMillis) {
+        this.leaseTtlMillis = leaseTtlMillis;
+    }
+
+    public int getLeaseRefillThreads() {
+        return leaseRefillThreads;
+    }
+
+    public void setLeaseRefillThreads(int leaseRefillThreads) {
+        this.leaseRefillThreads = leaseRefillThreads;
+    }
+
+    public long getRegistryMaximumSize() {
+        return registryMaximumSize;
+    }
+
+    public void setRegistryMaximumSize(long registryMaximumSize) {
+        this.registryMaximumSize = registryMaximumSize;
+    }
+
+    public long getRegistryMaximumWeightBytes() {
+        return registryMaximumWeightBytes;
+    }
+
+    public void setRegistryMaximumWeightBytes(long registryMaximumWeightBytes) {
+        this.registryMaximumWeightBytes = registryMaximumWeightBytes;
+    }
+
+    public long getRegistryExpireAfterAccessMillis() {
+        return registryExpireAfterAccessMillis;
+    }
+
+    public void setRegistryExpireAfterAccessMillis(long registryExpireAfterAccessMillis) {
+        this.registryExpireAfterAccessMillis = registryExpireAfterAccessMillis;
+    }
+
+    public int getWaitTimerThreads() {
+        return waitTimerThreads;
+    }
+
+    public void setWaitTimerThreads(int waitTimerThreads) {
+        this.waitTimerThreads = waitTimerThreads;
+    }
+
+    public boolean isPrecompilePlans() {
+        return precompilePlans;
+    }
+
+    public void setPrecompilePlans(boolean precompilePlans) {
+        this.precompilePlans = precompilePlans;
+    }
+
+    public int getRejectionSampleRate() {
+        return rejectionSampleRate;
+    }
+
+    public void setRejectionSampleRate(int rejectionSampleRate) {
+        this.rejectionSampleRate = rejectionSampleRate;
+    }
+
+    public int getRejectionRingSize() {
+        return rejectionRingSize;
+    }
+
+    public void setRejectionRingSize(int rejectionRingSize) {
+        this.rejectionRingSize = rejectionRingSize;
+    }
+
+    public int getHeavyHitterCapacity() {
+        return heavyHitterCapacity;
+    }
+
+    public void setHeavyHitterCapacity(int heavyHitterCapacity) {
+        this.heavyHitterCapacity = heavyHitterCapacity;
+    }
+
+    public long getBlockedLogIntervalMillis() {
+        return blockedLogIntervalMillis;
+    }
+
+    public void setBlockedLogIntervalMillis(long blockedLogIntervalMillis) {
+        this.blockedLogIntervalMillis = blockedLogIntervalMillis;
+    }
+
+}
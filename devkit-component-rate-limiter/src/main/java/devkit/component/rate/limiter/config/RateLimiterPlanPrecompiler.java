@@ -0,0 +1,91 @@
+package devkit.component.rate.limiter.config;
+
+import devkit.component.rate.limiter.aop.RateLimiterAOP;
+import devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.lang.NonNull;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds limited methods as beans are initialized and compiles their plans once all singletons exist,
+ * so a bad key, algorithm or fallback fails startup instead of the first request.
+ */
+public class RateLimiterPlanPrecompiler implements BeanPostProcessor, SmartInitializingSingleton {
+
+    private final Logger log = LoggerFactory.getLogger(RateLimiterPlanPrecompiler.class);
+
+    // Resolved late: the aspect carries @DCCValue members, and must not be created before the other post processors
+    private final ObjectProvider<RateLimiterAOP> rateLimiterAOP;
+
+    // Limited methods, per target class
+    private final Map<Class<?>, Set<Method>> limitedMethods = new ConcurrentHashMap<>();
+
+    private final Set<Class<?>> nonAnnotatedClasses = ConcurrentHashMap.newKeySet();
+
+    // Singletons done: lazy and prototype beans compile as they come
+    private volatile boolean started;
+
+    public RateLimiterPlanPrecompiler(ObjectProvider<RateLimiterAOP> rateLimiterAOP) {
+        this.rateLimiterAOP = rateLimiterAOP;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) throws BeansException {
+        Class<?> targetClass = AopProxyUtils.ultimateTargetClass(bean);
+        if (nonAnnotatedClasses.contains(targetClass) || limitedMethods.containsKey(targetClass)) {
+            return bean;
+        }
+        if (!AnnotationUtils.isCandidateClass(targetClass, RateLimiterAccessInterceptor.class)) {
+            nonAnnotatedClasses.add(targetClass);
+            return bean;
+        }
+
+        Map<Method, Boolean> methods = MethodIntrospector.selectMethods(targetClass,
+                (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                        method.getAnnotationsByType(RateLimiterAccessInterceptor.class).length > 0 ? Boolean.TRUE : null);
+        if (methods.isEmpty()) {
+            nonAnnotatedClasses.add(targetClass);
+        } else {
+            limitedMethods.put(targetClass, methods.keySet());
+            if (started) {
+                precompile(targetClass, methods.keySet());
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        started = true;
+        int count = 0;
+        for (Map.Entry<Class<?>, Set<Method>> entry : limitedMethods.entrySet()) {
+            count += precompile(entry.getKey(), entry.getValue());
+        }
+        log.info("Rate limit plans precompiled, classes: {}, plans: {}", limitedMethods.size(), count);
+    }
+
+    private int precompile(Class<?> targetClass, Set<Method> methods) {
+        RateLimiterAOP aop = rateLimiterAOP.getIfAvailable();
+        if (null == aop) {
+            return 0;
+        }
+        int count = 0;
+        for (Method method : methods) {
+            count += aop.precompile(method, targetClass).length;
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,30 @@
+package devkit.component.rate.limiter.domain.model.valobj;
+
+/** Key among the most rejected, with its estimated count; the true count is within error below it */
+public class HeavyHitterVO {
+
+    private final String key;
+
+    private final long count;
+
+    private final long error;
+
+    public HeavyHitterVO(String key, long count, long error) {
+        this.key = key;
+        this.count = count;
+        this.error = error;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getError() {
+        return error;
+    }
+
+}
@@ -0,0 +1,55 @@
+package devkit.component.rate.limiter.domain.model.valobj;
+
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+
+/** Algorithm and rate of one limit */
+public class LimitSpecVO {
+
+    private final LimitAlgorithm algorithm;
+
+    /** Requests per second */
+    private final double permitsPerSecond;
+
+    /** Window, or burst horizon for token bucket and GCRA */
+    private final long windowNanos;
+
+    public LimitSpecVO(LimitAlgorithm algorithm, double permitsPerSecond, long windowNanos) {
+        if (!(permitsPerSecond > 0) || Double.isInfinite(permitsPerSecond)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+        }
+        if (windowNanos <= 0) {
+            throw new IllegalArgumentException("window must be positive: " + windowNanos);
+        }
+        this.algorithm = algorithm;
+        this.permitsPerSecond = permitsPerSecond;
+        this.windowNanos = windowNanos;
+    }
+
+    public LimitAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public long getWindowNanos() {
+        return windowNanos;
+    }
+
+    /** How long an idle limiter's state still matters: one window, two for a sliding window, which weighs the previous one in */
+    public long getStateHorizonNanos() {
+        return algorithm == LimitAlgorithm.SLIDING_WINDOW ? 2 * windowNanos : windowNanos;
+    }
+
+    /** Permits admitted per window, at least one */
+    public long getPermitsPerWindow() {
+        return Math.max(1L, (long) (permitsPerSecond * windowNanos / 1_000_000_000d + 1e-9));
+    }
+
+    @Override
+    public String toString() {
+        return algorithm + "(" + permitsPerSecond + "/s, window " + windowNanos / 1_000_000 + "ms)";
+    }
+
+}
@@ -0,0 +1,50 @@
+package devkit.component.rate.limiter.domain.model.valobj;
+
+/** Limit override of one plan, from the DCC; null fields keep the declared value */
+public class RateLimitOverrideVO {
+
+    /** Replaces the rate */
+    private Double permitsPerSecond;
+
+    /** Replaces the rate as permits per declared window */
+    private Long permits;
+
+    /** Replaces the blacklist threshold; 0 turns it off, only for plans that declare a blacklist */
+    private Double blacklistCount;
+
+    public Double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public void setPermitsPerSecond(Double permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public Long getPermits() {
+        return permits;
+    }
+
+    public void setPermits(Long permits) {
+        this.permits = permits;
+    }
+
+    public Double getBlacklistCount() {
+        return blacklistCount;
+    }
+
+    public void setBlacklistCount(Double blacklistCount) {
+        this.blacklistCount = blacklistCount;
+    }
+
+    /** Declared spec with this rate; algorithm and window stay */
+    public LimitSpecVO apply(LimitSpecVO declared) {
+        if (null != permitsPerSecond) {
+            return new LimitSpecVO(declared.getAlgorithm(), permitsPerSecond, declared.getWindowNanos());
+        }
+        if (null != permits) {
+            return new LimitSpecVO(declared.getAlgorithm(), permits * 1_000_000_000d / declared.getWindowNanos(), declared.getWindowNanos());
+        }
+        return declared;
+    }
+
+}
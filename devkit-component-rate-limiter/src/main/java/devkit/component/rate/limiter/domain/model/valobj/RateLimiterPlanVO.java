@@ -0,0 +1,171 @@
+package devkit.component.rate.limiter.domain.model.valobj;
+
+import devkit.component.rate.limiter.domain.service.blacklist.KeyBlacklist;
+import devkit.component.rate.limiter.domain.service.key.IKeyExtractor;
+import devkit.component.rate.limiter.domain.service.registry.IRateLimiterStore;
+import devkit.component.rate.limiter.types.enums.LimitMode;
+import devkit.component.rate.limiter.types.enums.ReturnKind;
+
+import java.lang.invoke.MethodHandle;
+
+/** Per-method limit plan, compiled once from the annotation */
+public class RateLimiterPlanVO {
+
+    /** Method id, class#method(types) */
+    private final String id;
+
+    /** Method short name, for logs */
+    private final String name;
+
+    /** Key attr name */
+    private final String key;
+
+    private final IKeyExtractor keyExtractor;
+
+    private final LimitMode mode;
+
+    /** Algorithm and rate, as declared */
+    private final LimitSpecVO declaredLimitSpec;
+
+    /** Algorithm and rate in force; a DCC override replaces it */
+    private volatile LimitSpecVO limitSpec;
+
+    /** Blacklist threshold, as declared; 0 disables */
+    private final double blacklistCount;
+
+    /** Rejection counts and bans; null when disabled */
+    private final KeyBlacklist blacklist;
+
+    private final ReturnKind returnKind;
+
+    /** Async methods: max wait for a permit; 0 rejects at once */
+    private final long waitTimeoutNanos;
+
+    /** Sync methods: max queued wait for a permit; 0 rejects at once */
+    private final long maxWaitNanos;
+
+    /** Fallback method or constant name, for logs */
+    private final String fallbackName;
+
+    /** Resolved fallback, (Object target, Object[] args)Object */
+    private final MethodHandle fallback;
+
+    /** Per-key limiters of this method */
+    private final IRateLimiterStore limiterRegistry;
+
+    public RateLimiterPlanVO(String id, String name, String key, IKeyExtractor keyExtractor, LimitMode mode, LimitSpecVO limitSpec,
+                             double blacklistCount, KeyBlacklist blacklist, ReturnKind returnKind, long waitTimeoutNanos, long maxWaitNanos,
+                             String fallbackName, MethodHandle fallback,
+                             IRateLimiterStore limiterRegistry) {
+        this.id = id;
+        this.name = name;
+        this.key = key;
+        this.keyExtractor = keyExtractor;
+        this.mode = mode;
+        this.declaredLimitSpec = limitSpec;
+        this.limitSpec = limitSpec;
+        this.blacklistCount = blacklistCount;
+        this.blacklist = blacklist;
+        this.returnKind = returnKind;
+        this.waitTimeoutNanos = waitTimeoutNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.fallbackName = fallbackName;
+        this.fallback = fallback;
+        this.limiterRegistry = limiterRegistry;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public IKeyExtractor getKeyExtractor() {
+        return keyExtractor;
+    }
+
+    public LimitMode getMode() {
+        return mode;
+    }
+
+    public LimitSpecVO getLimitSpec() {
+        return limitSpec;
+    }
+
+    public double getPermitsPerSecond() {
+        return limitSpec.getPermitsPerSecond();
+    }
+
+    public LimitSpecVO getDeclaredLimitSpec() {
+        return declaredLimitSpec;
+    }
+
+    /** Switch the limit in force, live limiters included */
+    public void updateLimitSpec(LimitSpecVO limitSpec) {
+        this.limitSpec = limitSpec;
+        limiterRegistry.updateLimit(limitSpec);
+    }
+
+    public double getDeclaredBlacklistCount() {
+        return blacklistCount;
+    }
+
+    /** Threshold in force */
+    public double getBlacklistCount() {
+        return null == blacklist ? 0 : blacklist.getThreshold();
+    }
+
+    public boolean isBlacklistEnabled() {
+        return null != blacklist && blacklist.getThreshold() > 0;
+    }
+
+    public KeyBlacklist getBlacklist() {
+        return blacklist;
+    }
+
+    public ReturnKind getReturnKind() {
+        return returnKind;
+    }
+
+    public long getWaitTimeoutNanos() {
+        return waitTimeoutNanos;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    /** Concurrency limit: the permit is held until the call finishes */
+    public boolean isReleaseRequired() {
+        return limitSpec.getAlgorithm().isConcurrency();
+    }
+
+    /** Async method that waits for a permit on rejection */
+    public boolean isAsyncWait() {
+        return waitTimeoutNanos > 0 && returnKind.isAsync();
+    }
+
+    /** Gap between permits */
+    public long getPermitSpacingNanos() {
+        return (long) (1_000_000_000d / limitSpec.getPermitsPerSecond());
+    }
+
+    public String getFallbackName() {
+        return fallbackName;
+    }
+
+    public MethodHandle getFallback() {
+        return fallback;
+    }
+
+    public IRateLimiterStore getLimiterRegistry() {
+        return limiterRegistry;
+    }
+
+}
@@ -0,0 +1,41 @@
+package devkit.component.rate.limiter.domain.model.valobj;
+
+import devkit.component.rate.limiter.types.enums.RejectReason;
+
+/** One sampled rejection */
+public class RejectionEventVO {
+
+    private final long timestampMillis;
+
+    /** Plan id, class#method(types) */
+    private final String planId;
+
+    /** Key value */
+    private final String keyAttr;
+
+    private final RejectReason reason;
+
+    public RejectionEventVO(long timestampMillis, String planId, String keyAttr, RejectReason reason) {
+        this.timestampMillis = timestampMillis;
+        this.planId = planId;
+        this.keyAttr = keyAttr;
+        this.reason = reason;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getPlanId() {
+        return planId;
+    }
+
+    public String getKeyAttr() {
+        return keyAttr;
+    }
+
+    public RejectReason getReason() {
+        return reason;
+    }
+
+}
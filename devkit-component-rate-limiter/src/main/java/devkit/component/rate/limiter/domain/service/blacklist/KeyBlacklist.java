@@ -0,0 +1,218 @@
+package devkit.component.rate.limiter.domain.service.blacklist;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Blacklist of one plan. Rejections are counted in a count-min sketch whose
+ * counters halve every decay period. Bans are decided on exact counts only, kept
+ * for a bounded set of candidate keys. The sketch only over-counts, and saturates
+ * when many distinct keys are rejected, so it is just the admission pre-filter once
+ * the candidates fill up: a key needs an estimate of half the threshold to get in,
+ * and a full table drops the candidates under half the threshold to make room.
+ * A Bloom filter over the offenders is the fast path: most keys were never banned
+ * and cost two bit probes, no allocation.
+ */
+public class KeyBlacklist {
+
+    private static final int SKETCH_DEPTH = 4;
+
+    private static final int SKETCH_WIDTH = 1 << 12;
+
+    /** Exact counts kept at most */
+    private static final int MAX_CANDIDATES = 1 << 14;
+
+    /** Widest shift of an int count; more decay periods than this leave zero */
+    private static final int MAX_DECAY_SHIFT = 31;
+
+    private static final int BLOOM_BITS = 1 << 16;
+
+    private static final int BLOOM_HASHES = 2;
+
+    /** Rejections above this ban the key; 0 turns the blacklist off */
+    private volatile double threshold;
+
+    private final long banNanos;
+
+    private final long decayNanos;
+
+    /** SKETCH_DEPTH rows of SKETCH_WIDTH counters */
+    private final AtomicIntegerArray sketch = new AtomicIntegerArray(SKETCH_DEPTH * SKETCH_WIDTH);
+
+    private final AtomicLongArray bloom = new AtomicLongArray(BLOOM_BITS / 64);
+
+    /** Exact decayed rejection counts of keys that passed the sketch */
+    private final Map<String, AtomicInteger> candidates = new ConcurrentHashMap<>();
+
+    /** Banned keys, ban end in nanos */
+    private final Map<String, Long> offenders = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextDecayAt;
+
+    /** One thread at a time scans the full candidate table */
+    private final AtomicBoolean pruning = new AtomicBoolean();
+
+    public KeyBlacklist(double threshold, long banMillis, long decayMillis) {
+        this.threshold = threshold;
+        this.banNanos = TimeUnit.MILLISECONDS.toNanos(banMillis);
+        this.decayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, decayMillis));
+        this.nextDecayAt = new AtomicLong(System.nanoTime() + decayNanos);
+    }
+
+    public boolean isBanned(String key) {
+        int hash = spread(key.hashCode());
+        if (!mightContain(hash)) {
+            return false;
+        }
+        Long bannedUntil = offenders.get(key);
+        if (null == bannedUntil) {
+            return false;
+        }
+        if (System.nanoTime() - bannedUntil < 0) {
+            return true;
+        }
+        offenders.remove(key, bannedUntil);
+        return false;
+    }
+
+    /** Count a rejection; bans the key once its exact decayed count passes the threshold */
+    public void recordRejection(String key) {
+        long now = System.nanoTime();
+        decayIfDue(now);
+
+        int hash = spread(key.hashCode());
+        int step = hash >>> 16 | 1;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            int index = row * SKETCH_WIDTH + ((hash + row * step) & (SKETCH_WIDTH - 1));
+            estimate = Math.min(estimate, sketch.incrementAndGet(index));
+        }
+
+        double limit = threshold;
+        AtomicInteger count = candidates.get(key);
+        if (null == count) {
+            // Past half full, only keys the sketch flags get an exact count
+            int size = candidates.size();
+            if (size >= MAX_CANDIDATES / 2 && estimate * 2 < limit) {
+                return;
+            }
+            if (size >= MAX_CANDIDATES && !makeRoom(limit)) {
+                return;
+            }
+            count = candidates.computeIfAbsent(key, k -> new AtomicInteger());
+        }
+        if (count.incrementAndGet() > limit) {
+            offenders.put(key, now + banNanos);
+            add(hash);
+        }
+    }
+
+    /**
+     * Full table: drop the candidates under half the threshold, which a spray of one-off keys
+     * leaves behind; if that frees too little, halve the rest early. False when another thread
+     * is at it or no room was made.
+     */
+    private boolean makeRoom(double limit) {
+        if (!pruning.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            candidates.values().removeIf(count -> count.get() * 2 < limit);
+            if (candidates.size() >= MAX_CANDIDATES / 4 * 3) {
+                halveCandidates(1);
+            }
+            return candidates.size() < MAX_CANDIDATES;
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    /**
+     * Halve all counts once per decay period passed since the last decay, drop candidates at zero
+     * and served bans, and rebuild the Bloom filter from what is left
+     */
+    private void decayIfDue(long now) {
+        long due = nextDecayAt.get();
+        if (now - due < 0) {
+            return;
+        }
+        long periods = (now - due) / decayNanos + 1;
+        if (!nextDecayAt.compareAndSet(due, due + periods * decayNanos)) {
+            return;
+        }
+        int shift = (int) Math.min(periods, MAX_DECAY_SHIFT);
+        for (int i = 0; i < sketch.length(); i++) {
+            int count = sketch.get(i);
+            if (count != 0) {
+                sketch.addAndGet(i, -(count - (count >> shift)));
+            }
+        }
+        halveCandidates(shift);
+
+        offenders.entrySet().removeIf(entry -> now - entry.getValue() >= 0);
+        for (int i = 0; i < bloom.length(); i++) {
+            bloom.set(i, 0L);
+        }
+        for (String key : offenders.keySet()) {
+            add(spread(key.hashCode()));
+        }
+    }
+
+    private void halveCandidates(int shift) {
+        for (AtomicInteger count : candidates.values()) {
+            count.updateAndGet(c -> c >> shift);
+        }
+        candidates.values().removeIf(count -> count.get() == 0);
+    }
+
+    private boolean mightContain(int hash) {
+        int step = hash >>> 16 | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (hash + i * step) & (BLOOM_BITS - 1);
+            if ((bloom.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(int hash) {
+        int step = hash >>> 16 | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (hash + i * step) & (BLOOM_BITS - 1);
+            long mask = 1L << bit;
+            for (; ; ) {
+                long word = bloom.get(bit >>> 6);
+                if ((word & mask) != 0 || bloom.compareAndSet(bit >>> 6, word, word | mask)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 15);
+    }
+
+    /** Keys banned now or until the next decay */
+    public int getOffenderCount() {
+        return offenders.size();
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /** Counts and current bans are kept */
+    public void setThreshold(double threshold) {
+        this.threshold = threshold;
+    }
+
+}
@@ -0,0 +1,100 @@
+package devkit.component.rate.limiter.domain.service.fallback;
+
+import devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptor;
+import org.apache.commons.lang.StringUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.util.ClassUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Resolves the fallback of a limited method once, into a handle of type (Object target, Object[] args)Object.
+ * Fallback is a method on the target, a static method or bean method of fallbackClass, or a constant field.
+ */
+public class FallbackHandleFactory {
+
+    private static final MethodType FALLBACK_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    /** Source of shared fallback beans; null outside a container */
+    private volatile BeanFactory beanFactory;
+
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    /** Fallback handle of the method; missing or mismatched fallbacks fail here, not on the first rejection */
+    public MethodHandle create(Method method, Class<?> targetClass, RateLimiterAccessInterceptor rateLimiterAccessInterceptor) {
+        String fallbackMethod = rateLimiterAccessInterceptor.fallbackMethod();
+        String fallbackConstant = rateLimiterAccessInterceptor.fallbackConstant();
+        if (StringUtils.isBlank(fallbackMethod) == StringUtils.isBlank(fallbackConstant)) {
+            throw new IllegalArgumentException("annotation RateLimiter needs exactly one of fallbackMethod, fallbackConstant, method: " + method.getName());
+        }
+        Class<?> fallbackClass = rateLimiterAccessInterceptor.fallbackClass() == void.class
+                ? targetClass : rateLimiterAccessInterceptor.fallbackClass();
+
+        try {
+            MethodHandle handle = StringUtils.isNotBlank(fallbackMethod)
+                    ? methodHandle(method, targetClass, fallbackClass, fallbackMethod)
+                    : constantHandle(method, fallbackClass, fallbackConstant);
+            return handle.asType(FALLBACK_TYPE);
+        } catch (NoSuchMethodException | NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException("Fallback not resolved, method: " + method.getName() + ", fallback: "
+                    + fallbackClass.getName() + "." + fallbackMethod + fallbackConstant, e);
+        }
+    }
+
+    private MethodHandle methodHandle(Method method, Class<?> targetClass, Class<?> fallbackClass, String name)
+            throws NoSuchMethodException, IllegalAccessException {
+        Method fallback = fallbackClass.getMethod(name, method.getParameterTypes());
+        checkReturnType(method, fallback.getReturnType(), fallback.toGenericString());
+        fallback.setAccessible(true);
+        MethodHandle handle = lookup.unreflect(fallback);
+        int arity = method.getParameterCount();
+
+        if (Modifier.isStatic(fallback.getModifiers())) {
+            return MethodHandles.dropArguments(spread(handle, arity), 0, Object.class);
+        }
+        if (fallbackClass == targetClass) {
+            // Called on the intercepted instance
+            return spread(handle, arity);
+        }
+
+        // Shared fallback bean, bound once
+        if (null == beanFactory) {
+            throw new IllegalStateException("No bean factory for fallback bean " + fallbackClass.getName() + ", method: " + method.getName());
+        }
+        MethodHandle bound = handle.bindTo(beanFactory.getBean(fallbackClass));
+        return MethodHandles.dropArguments(spread(bound, arity), 0, Object.class);
+    }
+
+    /** Trailing arity parameters taken as one Object[], all types erased to Object */
+    private static MethodHandle spread(MethodHandle handle, int arity) {
+        return handle.asType(handle.type().generic()).asSpreader(Object[].class, arity);
+    }
+
+    private MethodHandle constantHandle(Method method, Class<?> fallbackClass, String name) throws NoSuchFieldException, IllegalAccessException {
+        Field field = fallbackClass.getDeclaredField(name);
+        if (!Modifier.isStatic(field.getModifiers()) || !Modifier.isFinal(field.getModifiers())) {
+            throw new IllegalStateException("Fallback constant must be static final: " + fallbackClass.getName() + "." + name);
+        }
+        checkReturnType(method, field.getType(), fallbackClass.getName() + "." + name);
+        field.setAccessible(true);
+        Object value = field.get(null);
+        return MethodHandles.dropArguments(MethodHandles.constant(Object.class, value), 0, Object.class, Object[].class);
+    }
+
+    private static void checkReturnType(Method method, Class<?> fallbackType, String fallback) {
+        if (!ClassUtils.isAssignable(method.getReturnType(), fallbackType)) {
+            throw new IllegalStateException("Fallback " + fallback + " returns " + fallbackType.getName()
+                    + ", method " + method.getName() + " returns " + method.getReturnType().getName());
+        }
+    }
+
+}
@@ -0,0 +1,8 @@
+package devkit.component.rate.limiter.domain.service.key;
+
+public interface IKeyExtractor {
+
+    /** Resolve limit key from call args; blank skips limiting */
+    String extract(Object[] args);
+
+}
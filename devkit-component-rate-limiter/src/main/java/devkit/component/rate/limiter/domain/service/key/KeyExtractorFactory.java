@@ -0,0 +1,31 @@
+package devkit.component.rate.limiter.domain.service.key;
+
+import org.apache.commons.lang.StringUtils;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+
+import java.lang.reflect.Method;
+
+public class KeyExtractorFactory {
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    /** Compile key, e.g. "userId" or "user.tenant.id", against the method params */
+    public IKeyExtractor create(String key, Method method) {
+        String[] path = StringUtils.split(key.trim(), '.');
+
+        int paramIndex = -1;
+        String[] parameterNames = parameterNameDiscoverer.getParameterNames(method);
+        if (parameterNames != null) {
+            for (int i = 0; i < parameterNames.length; i++) {
+                if (parameterNames[i].equals(path[0])) {
+                    paramIndex = i;
+                    break;
+                }
+            }
+        }
+
+        return new PathKeyExtractor(key, path, paramIndex, method.getParameterTypes());
+    }
+
+}
@@ -0,0 +1,86 @@
+package devkit.component.rate.limiter.domain.service.key;
+
+import devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptor;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Key read from a property path such as "user.tenant.id" */
+public class PathKeyExtractor implements IKeyExtractor {
+
+    private final Logger log = LoggerFactory.getLogger(PathKeyExtractor.class);
+
+    private final String key;
+
+    private final String[] path;
+
+    /** Index of the param named like the first segment; -1 scans all args */
+    private final int paramIndex;
+
+    /** Plain key and declared first param can hold a String */
+    private final boolean firstArgMayBeString;
+
+    private final boolean all;
+
+    public PathKeyExtractor(String key, String[] path, int paramIndex, Class<?>[] parameterTypes) {
+        this.key = key;
+        this.path = path;
+        this.paramIndex = paramIndex;
+        this.all = RateLimiterAccessInterceptor.ALL.equals(key);
+        this.firstArgMayBeString = !all && path.length == 1 && parameterTypes.length > 0 && parameterTypes[0].isAssignableFrom(String.class);
+    }
+
+    @Override
+    public String extract(Object[] args) {
+        // Method-wide budget, whatever the args
+        if (all) {
+            return RateLimiterAccessInterceptor.ALL;
+        }
+        if (args == null || args.length == 0) {
+            return null;
+        }
+
+        // Named param, walk the rest of the path
+        if (paramIndex >= 0) {
+            return readPath(args[paramIndex], 1);
+        }
+
+        // First arg is String
+        if (firstArgMayBeString && args[0] instanceof String) {
+            return (String) args[0];
+        }
+
+        // Walk the path on each object arg
+        for (Object arg : args) {
+            if (arg == null) {
+                continue;
+            }
+            String value = readPath(arg, 0);
+            if (StringUtils.isNotBlank(value)) {
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    private String readPath(Object value, int from) {
+        for (int i = from; i < path.length && value != null; i++) {
+            PropertyAccessor accessor = PropertyAccessors.get(value.getClass(), path[i]);
+            if (!accessor.isResolved()) {
+                return null;
+            }
+            try {
+                value = accessor.get(value);
+            } catch (Throwable e) {
+                log.debug("Read property failed, key: {}, class: {}", key, value.getClass().getName(), e);
+                return null;
+            }
+        }
+        if (value == null) {
+            return null;
+        }
+        return value instanceof String ? (String) value : String.valueOf(value);
+    }
+
+}
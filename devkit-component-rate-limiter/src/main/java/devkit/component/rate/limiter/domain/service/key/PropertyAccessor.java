@@ -0,0 +1,26 @@
+package devkit.component.rate.limiter.domain.service.key;
+
+import java.lang.invoke.MethodHandle;
+
+/** Read accessor of one property, resolved once per (class, name) */
+public final class PropertyAccessor {
+
+    /** Negative result; property does not exist on the class */
+    public static final PropertyAccessor NONE = new PropertyAccessor(null);
+
+    /** Getter handle, typed (Object)Object */
+    private final MethodHandle getter;
+
+    PropertyAccessor(MethodHandle getter) {
+        this.getter = getter;
+    }
+
+    public boolean isResolved() {
+        return getter != null;
+    }
+
+    public Object get(Object target) throws Throwable {
+        return (Object) getter.invokeExact(target);
+    }
+
+}
@@ -0,0 +1,74 @@
+package devkit.component.rate.limiter.domain.service.key;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Accessor cache per (class, property name); misses are cached too */
+public class PropertyAccessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<Map<String, PropertyAccessor>> ACCESSORS = new ClassValue<Map<String, PropertyAccessor>>() {
+        @Override
+        protected Map<String, PropertyAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private PropertyAccessors() {
+    }
+
+    public static PropertyAccessor get(Class<?> clazz, String name) {
+        Map<String, PropertyAccessor> accessors = ACCESSORS.get(clazz);
+        PropertyAccessor accessor = accessors.get(name);
+        if (null != accessor) {
+            return accessor;
+        }
+        return accessors.computeIfAbsent(name, n -> resolve(clazz, n));
+    }
+
+    /** Field first (whole hierarchy), then public getter */
+    private static PropertyAccessor resolve(Class<?> clazz, String name) {
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!field.getName().equals(name) || Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    return new PropertyAccessor(LOOKUP.unreflectGetter(field).asType(GETTER_TYPE));
+                } catch (IllegalAccessException | RuntimeException e) {
+                    // Inaccessible (e.g. JDK module), try getter
+                }
+            }
+        }
+
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (Method method : clazz.getMethods()) {
+            if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers()) || method.getReturnType() == void.class) {
+                continue;
+            }
+            if (!method.getName().equals("get" + suffix) && !method.getName().equals("is" + suffix)) {
+                continue;
+            }
+            try {
+                method.setAccessible(true);
+                MethodHandle getter = LOOKUP.unreflect(method);
+                return new PropertyAccessor(getter.asType(GETTER_TYPE));
+            } catch (IllegalAccessException | RuntimeException e) {
+                // Inaccessible, keep looking
+            }
+        }
+
+        return PropertyAccessor.NONE;
+    }
+
+}
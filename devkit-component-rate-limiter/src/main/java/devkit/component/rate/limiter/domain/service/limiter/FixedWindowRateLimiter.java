@@ -0,0 +1,97 @@
+package devkit.component.rate.limiter.domain.service.limiter;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Fixed window counter in one long: high 40 bits window index, low 24 bits count.
+ * Limit is capped at 16M permits per window.
+ */
+public class FixedWindowRateLimiter implements IRateLimiter {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long WINDOW_MASK = (1L << (64 - COUNT_BITS)) - 1;
+    private static final long HALF_WINDOW_RANGE = 1L << (63 - COUNT_BITS);
+
+    private static final AtomicLongFieldUpdater<FixedWindowRateLimiter> STATE =
+            AtomicLongFieldUpdater.newUpdater(FixedWindowRateLimiter.class, "state");
+
+    /** Packed window index and count */
+    private volatile long state;
+
+    private volatile long limit;
+
+    private final long windowNanos;
+
+    public FixedWindowRateLimiter(long limit, long windowNanos) {
+        this.limit = cap(limit);
+        this.windowNanos = windowNanos;
+        this.state = (LimiterClock.nanos() / windowNanos & WINDOW_MASK) << COUNT_BITS;
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        long window = LimiterClock.nanos() / windowNanos & WINDOW_MASK;
+        for (; ; ) {
+            long current = state;
+            long storedWindow = current >>> COUNT_BITS;
+            long count = current & COUNT_MASK;
+            long ahead = (window - storedWindow) & WINDOW_MASK;
+            long next;
+            if (ahead == 0 || ahead >= HALF_WINDOW_RANGE) {
+                // Same window, or another thread already rolled over
+                if (count >= limit) {
+                    return false;
+                }
+                next = current + 1;
+            } else {
+                next = (window << COUNT_BITS) | 1;
+            }
+            if (STATE.compareAndSet(this, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void refund() {
+        long window = LimiterClock.nanos() / windowNanos & WINDOW_MASK;
+        for (; ; ) {
+            long current = state;
+            // Only within the window it was taken from
+            if ((current >>> COUNT_BITS) != window || (current & COUNT_MASK) == 0) {
+                return;
+            }
+            if (STATE.compareAndSet(this, current, current - 1)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public long nanosToNextPermit() {
+        long now = LimiterClock.nanos();
+        long current = state;
+        if ((current >>> COUNT_BITS) != (now / windowNanos & WINDOW_MASK) || (current & COUNT_MASK) < limit) {
+            return 0;
+        }
+        return windowNanos - now % windowNanos;
+    }
+
+    /** Counts carry over; a different window length needs a new limiter */
+    @Override
+    public boolean updateLimit(LimitSpecVO limitSpec) {
+        if (limitSpec.getWindowNanos() != windowNanos) {
+            return false;
+        }
+        limit = cap(limitSpec.getPermitsPerWindow());
+        return true;
+    }
+
+    private static long cap(long limit) {
+        return Math.min(COUNT_MASK, Math.max(1L, limit));
+    }
+
+}
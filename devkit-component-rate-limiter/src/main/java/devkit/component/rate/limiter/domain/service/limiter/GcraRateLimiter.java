@@ -0,0 +1,71 @@
+package devkit.component.rate.limiter.domain.service.limiter;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Generic cell rate algorithm: one long, the theoretical arrival time (TAT).
+ * A permit is granted while TAT is at most the burst tolerance ahead of now.
+ */
+public class GcraRateLimiter implements IRateLimiter {
+
+    private static final AtomicLongFieldUpdater<GcraRateLimiter> TAT =
+            AtomicLongFieldUpdater.newUpdater(GcraRateLimiter.class, "tat");
+
+    /** Theoretical arrival time, clock nanos */
+    private volatile long tat;
+
+    /** Spacing between permits */
+    private volatile long emissionIntervalNanos;
+
+    /** How far TAT may run ahead: burst minus one intervals */
+    private volatile long toleranceNanos;
+
+    public GcraRateLimiter(double permitsPerSecond, long burst) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+        }
+        setRate(permitsPerSecond, burst);
+        this.tat = LimiterClock.nanos();
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        long now = LimiterClock.nanos();
+        for (; ; ) {
+            long current = tat;
+            long start = Math.max(current, now);
+            if (start - now > toleranceNanos) {
+                return false;
+            }
+            if (TAT.compareAndSet(this, current, start + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void refund() {
+        TAT.addAndGet(this, -emissionIntervalNanos);
+    }
+
+    @Override
+    public long nanosToNextPermit() {
+        return Math.max(0L, tat - toleranceNanos - LimiterClock.nanos());
+    }
+
+    /** TAT carries over; a reader racing the update may see one old and one new parameter, for one call */
+    @Override
+    public boolean updateLimit(LimitSpecVO limitSpec) {
+        setRate(limitSpec.getPermitsPerSecond(), limitSpec.getPermitsPerWindow());
+        return true;
+    }
+
+    private void setRate(double permitsPerSecond, long burst) {
+        long interval = Math.max(1L, (long) (1_000_000_000d / permitsPerSecond));
+        this.toleranceNanos = interval * (Math.max(1L, burst) - 1);
+        this.emissionIntervalNanos = interval;
+    }
+
+}
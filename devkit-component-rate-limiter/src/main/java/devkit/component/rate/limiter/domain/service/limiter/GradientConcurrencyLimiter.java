@@ -0,0 +1,125 @@
+package devkit.component.rate.limiter.domain.service.limiter;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Adaptive concurrency limit, Gradient style. The limit follows the ratio of
+ * long-term to recent latency: it shrinks as latency climbs above its baseline
+ * and probes upward by sqrt(limit) while latency holds. Lock-free: in-flight
+ * count, latency averages and limit are CAS-updated fields, doubles as raw bits.
+ */
+public class GradientConcurrencyLimiter implements IRateLimiter {
+
+    /** Recent latency, about the last 10 samples */
+    private static final double SHORT_WEIGHT = 0.1;
+
+    /** Baseline latency, about the last 500 samples */
+    private static final double LONG_WEIGHT = 0.002;
+
+    /** Share of each new estimate taken into the limit */
+    private static final double SMOOTHING = 0.2;
+
+    private static final AtomicIntegerFieldUpdater<GradientConcurrencyLimiter> IN_FLIGHT =
+            AtomicIntegerFieldUpdater.newUpdater(GradientConcurrencyLimiter.class, "inFlight");
+    private static final AtomicLongFieldUpdater<GradientConcurrencyLimiter> LIMIT =
+            AtomicLongFieldUpdater.newUpdater(GradientConcurrencyLimiter.class, "limitBits");
+    private static final AtomicLongFieldUpdater<GradientConcurrencyLimiter> SHORT_RTT =
+            AtomicLongFieldUpdater.newUpdater(GradientConcurrencyLimiter.class, "shortRttBits");
+    private static final AtomicLongFieldUpdater<GradientConcurrencyLimiter> LONG_RTT =
+            AtomicLongFieldUpdater.newUpdater(GradientConcurrencyLimiter.class, "longRttBits");
+
+    private volatile int inFlight;
+
+    private volatile long limitBits;
+
+    /** Latency averages in nanos; 0 until the first sample */
+    private volatile long shortRttBits;
+
+    private volatile long longRttBits;
+
+    private final double minLimit;
+
+    private final double maxLimit;
+
+    /** Limit adapts between 1 and 10x the initial limit */
+    public GradientConcurrencyLimiter(long initialLimit) {
+        this(initialLimit, 1, Math.max(1L, initialLimit) * 10);
+    }
+
+    public GradientConcurrencyLimiter(long initialLimit, long minLimit, long maxLimit) {
+        this.minLimit = Math.max(1L, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limitBits = Double.doubleToRawLongBits(Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit)));
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        int limit = (int) getLimit();
+        for (; ; ) {
+            int current = inFlight;
+            if (current >= limit) {
+                return false;
+            }
+            if (IN_FLIGHT.compareAndSet(this, current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void release(long latencyNanos) {
+        int released = IN_FLIGHT.getAndDecrement(this);
+        if (latencyNanos <= 0) {
+            return;
+        }
+        double shortRtt = average(SHORT_RTT, SHORT_WEIGHT, latencyNanos);
+        double longRtt = average(LONG_RTT, LONG_WEIGHT, latencyNanos);
+
+        // Baseline drifted far above recent latency: let it recover faster
+        if (longRtt > shortRtt * 2) {
+            long bits = longRttBits;
+            LONG_RTT.compareAndSet(this, bits, Double.doubleToRawLongBits(Double.longBitsToDouble(bits) * 0.95));
+        }
+
+        long bits = limitBits;
+        double limit = Double.longBitsToDouble(bits);
+        // App-limited: too few calls in flight to judge the limit
+        if (released < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, longRtt / shortRtt));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        double next = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + estimate * SMOOTHING));
+        // One attempt; a lost race means another sample just moved it
+        LIMIT.compareAndSet(this, bits, Double.doubleToRawLongBits(next));
+    }
+
+    @Override
+    public void refund() {
+        // Unused permit, no latency to learn from
+        IN_FLIGHT.decrementAndGet(this);
+    }
+
+    /** Exponential moving average, seeded by the first sample */
+    private double average(AtomicLongFieldUpdater<GradientConcurrencyLimiter> field, double weight, long sample) {
+        for (; ; ) {
+            long bits = field.get(this);
+            double current = Double.longBitsToDouble(bits);
+            double next = bits == 0 ? sample : current + (sample - current) * weight;
+            if (field.compareAndSet(this, bits, Double.doubleToRawLongBits(next))) {
+                return next;
+            }
+        }
+    }
+
+    public double getLimit() {
+        return Double.longBitsToDouble(limitBits);
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+}
@@ -0,0 +1,35 @@
+package devkit.component.rate.limiter.domain.service.limiter;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+
+import java.util.concurrent.TimeUnit;
+
+public interface IRateLimiter {
+
+    /** Take one permit without waiting */
+    boolean tryAcquire();
+
+    /** Take one permit, waiting up to timeout; plain limiters don't wait */
+    default boolean tryAcquire(long timeout, TimeUnit unit) {
+        return tryAcquire();
+    }
+
+    /** Give back an unused permit from tryAcquire, e.g. a later composite level rejected; best effort */
+    default void refund() {
+    }
+
+    /** Call finished: concurrency limiters return the permit and learn from the latency */
+    default void release(long latencyNanos) {
+    }
+
+    /** Estimated wait until a permit may be free; 0 when free now or unknown */
+    default long nanosToNextPermit() {
+        return 0;
+    }
+
+    /** Switch to a new rate in place, keeping state; false when this limiter must be replaced instead */
+    default boolean updateLimit(LimitSpecVO limitSpec) {
+        return false;
+    }
+
+}
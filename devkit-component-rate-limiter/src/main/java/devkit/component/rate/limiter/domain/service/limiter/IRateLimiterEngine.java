@@ -0,0 +1,22 @@
+package devkit.component.rate.limiter.domain.service.limiter;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+import devkit.component.rate.limiter.types.enums.LimitMode;
+
+public interface IRateLimiterEngine {
+
+    /** Mode served by this engine */
+    default LimitMode mode() {
+        return LimitMode.LOCAL;
+    }
+
+    /** Algorithms this engine can run */
+    default boolean supports(LimitAlgorithm algorithm) {
+        return LimitAlgorithm.TOKEN_BUCKET == algorithm;
+    }
+
+    /** New per-key limiter; key is namespaced by method */
+    IRateLimiter create(String key, LimitSpecVO spec);
+
+}
@@ -0,0 +1,15 @@
+package devkit.component.rate.limiter.domain.service.limiter;
+
+/** Monotonic time shared by local limiters, relative to class init */
+final class LimiterClock {
+
+    private static final long BASE_NANOS = System.nanoTime();
+
+    private LimiterClock() {
+    }
+
+    static long nanos() {
+        return System.nanoTime() - BASE_NANOS;
+    }
+
+}
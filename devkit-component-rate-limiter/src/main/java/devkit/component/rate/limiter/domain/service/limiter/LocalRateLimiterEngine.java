@@ -0,0 +1,47 @@
+package devkit.component.rate.limiter.domain.service.limiter;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.strategy.FixedWindowStrategy;
+import devkit.component.rate.limiter.domain.service.limiter.strategy.GcraStrategy;
+import devkit.component.rate.limiter.domain.service.limiter.strategy.GradientStrategy;
+import devkit.component.rate.limiter.domain.service.limiter.strategy.IRateLimiterStrategy;
+import devkit.component.rate.limiter.domain.service.limiter.strategy.SlidingWindowStrategy;
+import devkit.component.rate.limiter.domain.service.limiter.strategy.TokenBucketStrategy;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/** In-memory limiters, one strategy per algorithm */
+public class LocalRateLimiterEngine implements IRateLimiterEngine {
+
+    private final Map<LimitAlgorithm, IRateLimiterStrategy> strategies = new EnumMap<>(LimitAlgorithm.class);
+
+    public LocalRateLimiterEngine() {
+        this(Arrays.asList(new TokenBucketStrategy(), new FixedWindowStrategy(), new SlidingWindowStrategy(), new GcraStrategy(), new GradientStrategy()));
+    }
+
+    /** Later strategies replace earlier ones of the same algorithm */
+    public LocalRateLimiterEngine(List<IRateLimiterStrategy> strategies) {
+        for (IRateLimiterStrategy strategy : strategies) {
+            this.strategies.put(strategy.algorithm(), strategy);
+        }
+    }
+
+    @Override
+    public boolean supports(LimitAlgorithm algorithm) {
+        return strategies.containsKey(algorithm);
+    }
+
+    @Override
+    public IRateLimiter create(String key, LimitSpecVO spec) {
+        IRateLimiterStrategy strategy = strategies.get(spec.getAlgorithm());
+        if (null == strategy) {
+            throw new IllegalArgumentException("Unsupported algorithm: " + spec.getAlgorithm());
+        }
+        return strategy.create(spec);
+    }
+
+}
@@ -0,0 +1,119 @@
+package devkit.component.rate.limiter.domain.service.limiter;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Sliding window counter: the previous window's count, weighted by how much of it
+ * still overlaps the sliding window, plus the current count. Packed into one long:
+ * 24 bits window index, 20 bits previous count, 20 bits current count.
+ * The index wraps, so the full index of the last rollover is kept beside it
+ * to tell a racing rollover from an idle gap. Limit is capped at 1M permits per window.
+ */
+public class SlidingWindowRateLimiter implements IRateLimiter {
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final int WINDOW_SHIFT = COUNT_BITS * 2;
+    private static final long WINDOW_MASK = (1L << (64 - WINDOW_SHIFT)) - 1;
+
+    private static final AtomicLongFieldUpdater<SlidingWindowRateLimiter> STATE =
+            AtomicLongFieldUpdater.newUpdater(SlidingWindowRateLimiter.class, "state");
+
+    /** Packed window index, previous and current count */
+    private volatile long state;
+
+    /** Full window index of the last rollover, trails the packed one by at most a racing rollover */
+    private volatile long rolledWindow;
+
+    private volatile long limit;
+
+    private final long windowNanos;
+
+    public SlidingWindowRateLimiter(long limit, long windowNanos) {
+        this.limit = cap(limit);
+        this.windowNanos = windowNanos;
+        this.rolledWindow = LimiterClock.nanos() / windowNanos;
+        this.state = (rolledWindow & WINDOW_MASK) << WINDOW_SHIFT;
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        return tryAcquire(LimiterClock.nanos());
+    }
+
+    /** Acquire at a reading of the limiter clock */
+    public boolean tryAcquire(long now) {
+        long windowIndex = now / windowNanos;
+        long window = windowIndex & WINDOW_MASK;
+        // Share of the previous window still inside the sliding window
+        double previousWeight = 1d - (double) (now - windowIndex * windowNanos) / windowNanos;
+
+        for (; ; ) {
+            long current = state;
+            long storedWindow = current >>> WINDOW_SHIFT;
+            long previous = (current >>> COUNT_BITS) & COUNT_MASK;
+            long count = current & COUNT_MASK;
+
+            long nextWindow = window;
+            long rolled = rolledWindow;
+            if (storedWindow != window || windowIndex - rolled > WINDOW_MASK) {
+                // Stored full index: the first at or after the last recorded rollover with the stored low bits
+                long ahead = windowIndex - (rolled + ((storedWindow - rolled) & WINDOW_MASK));
+                if (ahead == 1) {
+                    previous = count;
+                    count = 0;
+                } else if (ahead > 1) {
+                    // Idle for more than a window, however many times the packed index wrapped
+                    previous = 0;
+                    count = 0;
+                } else {
+                    // Another thread already rolled over
+                    nextWindow = storedWindow;
+                }
+            }
+
+            if (previous * previousWeight + count >= limit) {
+                return false;
+            }
+            long next = (nextWindow << WINDOW_SHIFT) | (previous << COUNT_BITS) | (count + 1);
+            if (STATE.compareAndSet(this, current, next)) {
+                if (nextWindow == window && windowIndex > rolledWindow) {
+                    rolledWindow = windowIndex;
+                }
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void refund() {
+        long window = LimiterClock.nanos() / windowNanos & WINDOW_MASK;
+        for (; ; ) {
+            long current = state;
+            // Only within the window it was taken from
+            if ((current >>> WINDOW_SHIFT) != window || (current & COUNT_MASK) == 0) {
+                return;
+            }
+            if (STATE.compareAndSet(this, current, current - 1)) {
+                return;
+            }
+        }
+    }
+
+    /** Counts carry over; a different window length needs a new limiter */
+    @Override
+    public boolean updateLimit(LimitSpecVO limitSpec) {
+        if (limitSpec.getWindowNanos() != windowNanos) {
+            return false;
+        }
+        limit = cap(limitSpec.getPermitsPerWindow());
+        return true;
+    }
+
+    private static long cap(long limit) {
+        return Math.min(COUNT_MASK, Math.max(1L, limit));
+    }
+
+}
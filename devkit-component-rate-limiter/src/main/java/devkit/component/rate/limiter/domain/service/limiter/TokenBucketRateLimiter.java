@@ -0,0 +1,73 @@
+package devkit.component.rate.limiter.domain.service.limiter;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Lock-free token bucket. Tokens and last-refill time share one long,
+ * updated by CAS; see TokenBucketState for the layout.
+ * Capacity is capped at 65535 permits.
+ */
+public class TokenBucketRateLimiter implements IRateLimiter {
+
+    private static final AtomicLongFieldUpdater<TokenBucketRateLimiter> STATE =
+            AtomicLongFieldUpdater.newUpdater(TokenBucketRateLimiter.class, "state");
+
+    /** Packed tokens and refill time */
+    private volatile long state;
+
+    /** Rate and capacity; swapped on updateLimit, tokens carry over */
+    private volatile TokenBucketState bucket;
+
+    /** Burst capacity of one second of permits, at least one */
+    public TokenBucketRateLimiter(double permitsPerSecond) {
+        this(permitsPerSecond, Math.max(1L, (long) permitsPerSecond));
+    }
+
+    public TokenBucketRateLimiter(double permitsPerSecond, long capacityPermits) {
+        this.bucket = new TokenBucketState(permitsPerSecond, capacityPermits);
+        this.state = bucket.initial();
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        TokenBucketState bucket = this.bucket;
+        long now = bucket.now();
+        for (; ; ) {
+            long current = state;
+            long refilled = bucket.refill(current, now);
+            if (!bucket.hasPermit(refilled)) {
+                // Rejection is read-only, no write contention
+                return false;
+            }
+            if (STATE.compareAndSet(this, current, bucket.take(refilled))) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void refund() {
+        TokenBucketState bucket = this.bucket;
+        for (; ; ) {
+            long current = state;
+            if (STATE.compareAndSet(this, current, bucket.refund(current))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public long nanosToNextPermit() {
+        TokenBucketState bucket = this.bucket;
+        return bucket.nanosToNextPermit(state, bucket.now());
+    }
+
+    @Override
+    public boolean updateLimit(LimitSpecVO limitSpec) {
+        bucket = new TokenBucketState(limitSpec.getPermitsPerSecond(), limitSpec.getPermitsPerWindow());
+        return true;
+    }
+
+}
@@ -0,0 +1,94 @@
+package devkit.component.rate.limiter.domain.service.limiter;
+
+/**
+ * Token bucket math over one packed long: high 24 bits hold tokens in 1/256
+ * permit units, low 40 bits the refill time in micros (wraps after ~12 days;
+ * a bucket idle past half of that reads as full). Capacity is capped at 65535 permits. Callers
+ * own the long and update it by CAS.
+ */
+public final class TokenBucketState {
+
+    private static final int TIME_BITS = 40;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private static final long HALF_TIME_RANGE = 1L << (TIME_BITS - 1);
+    /** A stored time at most this far ahead of now was written by a racing thread */
+    private static final long MAX_CLOCK_LEAD_MICROS = 60_000_000L;
+
+    private static final long UNITS_PER_PERMIT = 256;
+    private static final long MAX_UNITS = ((1L << (64 - TIME_BITS)) - 1) / UNITS_PER_PERMIT * UNITS_PER_PERMIT;
+
+    /** Never a bucket state: units stop short of all ones */
+    public static final long NONE = -1L;
+
+    /** Token units gained per micro */
+    private final double unitsPerMicro;
+
+    private final long capacityUnits;
+
+    public TokenBucketState(double permitsPerSecond, long capacityPermits) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+        }
+        this.unitsPerMicro = permitsPerSecond * UNITS_PER_PERMIT / 1_000_000d;
+        this.capacityUnits = Math.min(MAX_UNITS, Math.max(1L, capacityPermits) * UNITS_PER_PERMIT);
+    }
+
+    /** New bucket holding one permit, so the first call passes at once like Guava's bursty limiter */
+    public long initial() {
+        return pack(UNITS_PER_PERMIT, now());
+    }
+
+    public long now() {
+        return (LimiterClock.nanos() / 1000) & TIME_MASK;
+    }
+
+    public boolean hasPermit(long refilled) {
+        return (refilled >>> TIME_BITS) >= UNITS_PER_PERMIT;
+    }
+
+    /** Refilled state minus one permit; check hasPermit first */
+    public long take(long refilled) {
+        return refilled - (UNITS_PER_PERMIT << TIME_BITS);
+    }
+
+    /** One permit back, capped at capacity */
+    public long refund(long current) {
+        return pack(Math.min(capacityUnits, (current >>> TIME_BITS) + UNITS_PER_PERMIT), current & TIME_MASK);
+    }
+
+    public long nanosToNextPermit(long current, long now) {
+        long missing = UNITS_PER_PERMIT - (refill(current, now) >>> TIME_BITS);
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / unitsPerMicro * 1000);
+    }
+
+    /**
+     * Refilled state at now; time only advances by what whole units paid for, rounded up,
+     * so the micro lost to rounding is never credited twice (above ~3900 permits/s a unit is worth less than a micro)
+     */
+    public long refill(long current, long now) {
+        long units = current >>> TIME_BITS;
+        long last = current & TIME_MASK;
+        long elapsed = (now - last) & TIME_MASK;
+        if (elapsed == 0) {
+            return current;
+        }
+        if (elapsed >= HALF_TIME_RANGE) {
+            // Another thread stored a later time, or idle for over half the clock range: refilled long ago
+            return TIME_MASK - elapsed < MAX_CLOCK_LEAD_MICROS ? current : pack(capacityUnits, now);
+        }
+
+        long gained = (long) (elapsed * unitsPerMicro);
+        if (units + gained >= capacityUnits) {
+            return pack(capacityUnits, now);
+        }
+        if (gained == 0) {
+            return current;
+        }
+        return pack(units + gained, last + Math.min(elapsed, (long) Math.ceil(gained / unitsPerMicro)));
+    }
+
+    private static long pack(long units, long micros) {
+        return (units << TIME_BITS) | (micros & TIME_MASK);
+    }
+
+}
@@ -0,0 +1,165 @@
+package devkit.component.rate.limiter.domain.service.limiter.redis;
+
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.metrics.LogSampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves permits locally from batches leased out of the Redis budget.
+ * A lease is refilled asynchronously once the local stock falls to half a batch;
+ * only an empty stock costs the caller a Redis round-trip.
+ */
+public class LeasedRateLimiter implements IRateLimiter {
+
+    // Shared by all keys: while Redis is down every call fails, one line per interval is enough
+    private static final LogSampler UNAVAILABLE_LOG = new LogSampler(10_000);
+
+    private static final Logger log = LoggerFactory.getLogger(LeasedRateLimiter.class);
+
+    private final RedisTokenBucketScript script;
+
+    private final Executor refillExecutor;
+
+    private final String redisKey;
+
+    private final double permitsPerSecond;
+
+    /** Global bucket capacity, the burst */
+    private final double capacity;
+
+    /** Permits asked per lease */
+    private final long batchSize;
+
+    /** Prefetch once local stock falls to this */
+    private final long lowWatermark;
+
+    /** Unused leased permits are dropped after this */
+    private final long leaseTtlNanos;
+
+    /** Pause before leasing again after an empty grant or an error */
+    private final long retryNanos;
+
+    /** Local stock of leased permits */
+    private final AtomicLong leased = new AtomicLong();
+
+    /** One lease in flight per key */
+    private final AtomicBoolean leasing = new AtomicBoolean();
+
+    private volatile long leaseExpireAt;
+
+    private volatile long nextLeaseAt;
+
+    public LeasedRateLimiter(RedisTokenBucketScript script, Executor refillExecutor, String redisKey,
+                             double permitsPerSecond, long batchMillis, long leaseTtlMillis) {
+        this(script, refillExecutor, redisKey, permitsPerSecond, (long) permitsPerSecond, batchMillis, leaseTtlMillis);
+    }
+
+    public LeasedRateLimiter(RedisTokenBucketScript script, Executor refillExecutor, String redisKey,
+                             double permitsPerSecond, long capacityPermits, long batchMillis, long leaseTtlMillis) {
+        this.script = script;
+        this.refillExecutor = refillExecutor;
+        this.redisKey = redisKey;
+        this.permitsPerSecond = permitsPerSecond;
+        this.capacity = Math.max(1L, capacityPermits);
+        this.batchSize = Math.max(1L, Math.min((long) capacity, Math.round(permitsPerSecond * batchMillis / 1000d)));
+        this.lowWatermark = batchSize / 2;
+        this.leaseTtlNanos = leaseTtlMillis * 1_000_000L;
+        this.retryNanos = Math.max(1L, batchMillis) * 1_000_000L;
+        this.nextLeaseAt = System.nanoTime();
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+
+        // Stale lease, drop it so idle nodes do not burst on old permits
+        if (now - leaseExpireAt > 0 && leased.get() > 0) {
+            leased.set(0);
+        }
+
+        for (; ; ) {
+            long stock = leased.get();
+            if (stock <= 0) {
+                break;
+            }
+            if (leased.compareAndSet(stock, stock - 1)) {
+                if (stock - 1 <= lowWatermark) {
+                    refillAsync();
+                }
+                return true;
+            }
+        }
+
+        // Local stock empty, lease in the caller
+        if (now - nextLeaseAt < 0 || !leasing.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            long granted = lease();
+            if (granted <= 0) {
+                return false;
+            }
+            if (granted > 1) {
+                leased.addAndGet(granted - 1);
+            }
+            return true;
+        } finally {
+            leasing.set(false);
+        }
+    }
+
+    @Override
+    public void refund() {
+        // Back to local stock; the stale-lease check drops it with the rest
+        leased.incrementAndGet();
+    }
+
+    private void refillAsync() {
+        if (!leasing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refillExecutor.execute(() -> {
+                try {
+                    long granted = lease();
+                    if (granted > 0) {
+                        leased.addAndGet(granted);
+                    }
+                } finally {
+                    leasing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            leasing.set(false);
+        }
+    }
+
+    private long lease() {
+        long now = System.nanoTime();
+        try {
+            long granted = script.acquire(redisKey, permitsPerSecond, capacity, batchSize, true);
+            if (granted > 0) {
+                leaseExpireAt = now + leaseTtlNanos;
+            } else {
+                nextLeaseAt = now + retryNanos;
+            }
+            return granted;
+        } catch (RuntimeException e) {
+            // Redis unavailable: serve one local batch per retry window, about the global rate per node
+            long suppressed = UNAVAILABLE_LOG.tryLog();
+            if (suppressed >= 0) {
+                log.warn("Lease failed, serve local batch, key: {}, suppressed: {}", redisKey, suppressed, e);
+            }
+            leaseExpireAt = now + leaseTtlNanos;
+            nextLeaseAt = now + retryNanos;
+            return batchSize;
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package devkit.component.rate.limiter.domain.service.limiter.redis;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiterEngine;
+import devkit.component.rate.limiter.types.enums.LimitMode;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LeasedRateLimiterEngine implements IRateLimiterEngine, DisposableBean {
+
+    private final RedisTokenBucketScript script;
+
+    private final long batchMillis;
+
+    private final long leaseTtlMillis;
+
+    private final ExecutorService refillExecutor;
+
+    public LeasedRateLimiterEngine(RedisTokenBucketScript script, long batchMillis, long leaseTtlMillis, int refillThreads) {
+        this.script = script;
+        this.batchMillis = batchMillis;
+        this.leaseTtlMillis = leaseTtlMillis;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.refillExecutor = Executors.newFixedThreadPool(Math.max(1, refillThreads), r -> {
+            Thread thread = new Thread(r, "devkit-rate-limiter-lease-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public LimitMode mode() {
+        return LimitMode.LEASED;
+    }
+
+    @Override
+    public IRateLimiter create(String key, LimitSpecVO limitSpec) {
+        return new LeasedRateLimiter(script, refillExecutor, RedisTokenBucketRateLimiterEngine.KEY_PREFIX + key,
+                limitSpec.getPermitsPerSecond(), limitSpec.getPermitsPerWindow(), batchMillis, leaseTtlMillis);
+    }
+
+    @Override
+    public void destroy() {
+        refillExecutor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,71 @@
+package devkit.component.rate.limiter.domain.service.limiter.redis;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.metrics.LogSampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Cluster-wide token bucket; fails open when Redis is unavailable */
+public class RedisTokenBucketRateLimiter implements IRateLimiter {
+
+    // Shared by all keys: while Redis is down every call fails, one line per interval is enough
+    private static final LogSampler UNAVAILABLE_LOG = new LogSampler(10_000);
+
+    private static final Logger log = LoggerFactory.getLogger(RedisTokenBucketRateLimiter.class);
+
+    private final RedisTokenBucketScript script;
+
+    private final String redisKey;
+
+    private volatile double permitsPerSecond;
+
+    /** Burst, at least one */
+    private volatile double capacity;
+
+    public RedisTokenBucketRateLimiter(RedisTokenBucketScript script, String redisKey, double permitsPerSecond) {
+        this(script, redisKey, permitsPerSecond, (long) permitsPerSecond);
+    }
+
+    public RedisTokenBucketRateLimiter(RedisTokenBucketScript script, String redisKey, double permitsPerSecond, long capacityPermits) {
+        this.script = script;
+        this.redisKey = redisKey;
+        this.permitsPerSecond = permitsPerSecond;
+        this.capacity = Math.max(1L, capacityPermits);
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        try {
+            return script.acquire(redisKey, permitsPerSecond, capacity, 1) > 0;
+        } catch (RuntimeException e) {
+            long suppressed = UNAVAILABLE_LOG.tryLog();
+            if (suppressed >= 0) {
+                log.warn("Distributed limiter unavailable, allow, key: {}, suppressed: {}", redisKey, suppressed, e);
+            }
+            return true;
+        }
+    }
+
+    /** Composite rollback: the permit goes back to the shared bucket; lost if Redis is unavailable */
+    @Override
+    public void refund() {
+        try {
+            script.refund(redisKey, permitsPerSecond, capacity, 1);
+        } catch (RuntimeException e) {
+            long suppressed = UNAVAILABLE_LOG.tryLog();
+            if (suppressed >= 0) {
+                log.warn("Distributed limiter unavailable, refund dropped, key: {}, suppressed: {}", redisKey, suppressed, e);
+            }
+        }
+    }
+
+    /** Bucket state lives in Redis; the next script call refills at the new rate */
+    @Override
+    public boolean updateLimit(LimitSpecVO limitSpec) {
+        capacity = Math.max(1L, limitSpec.getPermitsPerWindow());
+        permitsPerSecond = limitSpec.getPermitsPerSecond();
+        return true;
+    }
+
+}
@@ -0,0 +1,28 @@
+package devkit.component.rate.limiter.domain.service.limiter.redis;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiterEngine;
+import devkit.component.rate.limiter.types.enums.LimitMode;
+
+public class RedisTokenBucketRateLimiterEngine implements IRateLimiterEngine {
+
+    public static final String KEY_PREFIX = "devkit_rate_limiter:";
+
+    private final RedisTokenBucketScript script;
+
+    public RedisTokenBucketRateLimiterEngine(RedisTokenBucketScript script) {
+        this.script = script;
+    }
+
+    @Override
+    public LimitMode mode() {
+        return LimitMode.DISTRIBUTED;
+    }
+
+    @Override
+    public IRateLimiter create(String key, LimitSpecVO limitSpec) {
+        return new RedisTokenBucketRateLimiter(script, KEY_PREFIX + key, limitSpec.getPermitsPerSecond(), limitSpec.getPermitsPerWindow());
+    }
+
+}
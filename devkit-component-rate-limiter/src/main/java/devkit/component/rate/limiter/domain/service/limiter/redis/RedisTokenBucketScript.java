@@ -0,0 +1,111 @@
+package devkit.component.rate.limiter.domain.service.limiter.redis;
+
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.Collections;
+import java.util.function.Supplier;
+
+/** Token bucket evaluated atomically in Redis, on Redis server time */
+public class RedisTokenBucketScript {
+
+    /**
+     * KEYS[1] bucket hash; ARGV rate/s, capacity, requested, ttl ms, partial (1/0).
+     * Returns permits granted: all or nothing, or as many whole permits as held when partial.
+     * A negative request gives permits back, up to capacity, and returns 0.
+     * Effects replication lets TIME precede writes on Redis 3.2 to 4; a no-op from 5 on.
+     */
+    static final String SCRIPT = "redis.replicate_commands()\n" +
+            "local rate = tonumber(ARGV[1])\n" +
+            "local capacity = tonumber(ARGV[2])\n" +
+            "local requested = tonumber(ARGV[3])\n" +
+            "local time = redis.call('TIME')\n" +
+            "local now = tonumber(time[1]) * 1000000 + tonumber(time[2])\n" +
+            "local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')\n" +
+            "local tokens = tonumber(bucket[1])\n" +
+            "local ts = tonumber(bucket[2])\n" +
+            "if tokens == nil or ts == nil then\n" +
+            "  tokens = math.min(capacity, 1)\n" +
+            "  ts = now\n" +
+            "end\n" +
+            "if now > ts then\n" +
+            "  tokens = math.min(capacity, tokens + (now - ts) * rate / 1000000)\n" +
+            "  ts = now\n" +
+            "end\n" +
+            "local granted = 0\n" +
+            "if requested < 0 then\n" +
+            "  tokens = math.min(capacity, tokens - requested)\n" +
+            "elseif tokens >= requested then\n" +
+            "  granted = requested\n" +
+            "elseif ARGV[5] == '1' then\n" +
+            "  granted = math.floor(tokens)\n" +
+            "end\n" +
+            "tokens = tokens - granted\n" +
+            "redis.call('HMSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(ts))\n" +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[4])\n" +
+            "return granted\n";
+
+    private final Supplier<RedissonClient> redissonClientSupplier;
+
+    private volatile RedissonClient redissonClient;
+
+    private volatile String sha;
+
+    /** Client is resolved on first use, so startup does not need Redis */
+    public RedisTokenBucketScript(Supplier<RedissonClient> redissonClientSupplier) {
+        this.redissonClientSupplier = redissonClientSupplier;
+    }
+
+    /** Take permits from the bucket; returns permits granted */
+    public long acquire(String key, double permitsPerSecond, double capacity, long permits) {
+        return acquire(key, permitsPerSecond, capacity, permits, false);
+    }
+
+    /** Give back permits taken but not used, up to capacity */
+    public void refund(String key, double permitsPerSecond, double capacity, long permits) {
+        eval(key, permitsPerSecond, capacity, -permits, false);
+    }
+
+    /** Take up to permits when partial, e.g. to lease a batch */
+    public long acquire(String key, double permitsPerSecond, double capacity, long permits, boolean partial) {
+        return eval(key, permitsPerSecond, capacity, permits, partial);
+    }
+
+    private long eval(String key, double permitsPerSecond, double capacity, long permits, boolean partial) {
+        long ttlMillis = Math.max(1000L, (long) Math.ceil(capacity / permitsPerSecond * 1000) * 2);
+        RScript script = getRedissonClient().getScript(StringCodec.INSTANCE);
+        Object[] args = {String.valueOf(permitsPerSecond), String.valueOf(capacity), String.valueOf(permits), String.valueOf(ttlMillis), partial ? "1" : "0"};
+
+        String current = sha;
+        if (null == current) {
+            current = sha = script.scriptLoad(SCRIPT);
+        }
+        try {
+            Long granted = script.evalSha(RScript.Mode.READ_WRITE, current, RScript.ReturnType.INTEGER, Collections.singletonList(key), args);
+            return null == granted ? 0 : granted;
+        } catch (RedisException e) {
+            if (null == e.getMessage() || !e.getMessage().contains("NOSCRIPT")) {
+                throw e;
+            }
+            // Script cache flushed (restart/failover), load again
+            sha = script.scriptLoad(SCRIPT);
+            Long granted = script.evalSha(RScript.Mode.READ_WRITE, sha, RScript.ReturnType.INTEGER, Collections.singletonList(key), args);
+            return null == granted ? 0 : granted;
+        }
+    }
+
+    private RedissonClient getRedissonClient() {
+        RedissonClient current = redissonClient;
+        if (null == current) {
+            current = redissonClientSupplier.get();
+            if (null == current) {
+                throw new IllegalStateException("Redis rate limit needs the DevKitComponentRedissonClient bean");
+            }
+            redissonClient = current;
+        }
+        return current;
+    }
+
+}
@@ -0,0 +1,20 @@
+package devkit.component.rate.limiter.domain.service.limiter.strategy;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.FixedWindowRateLimiter;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+
+public class FixedWindowStrategy implements IRateLimiterStrategy {
+
+    @Override
+    public LimitAlgorithm algorithm() {
+        return LimitAlgorithm.FIXED_WINDOW;
+    }
+
+    @Override
+    public IRateLimiter create(LimitSpecVO spec) {
+        return new FixedWindowRateLimiter(spec.getPermitsPerWindow(), spec.getWindowNanos());
+    }
+
+}
@@ -0,0 +1,20 @@
+package devkit.component.rate.limiter.domain.service.limiter.strategy;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.GcraRateLimiter;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+
+public class GcraStrategy implements IRateLimiterStrategy {
+
+    @Override
+    public LimitAlgorithm algorithm() {
+        return LimitAlgorithm.GCRA;
+    }
+
+    @Override
+    public IRateLimiter create(LimitSpecVO spec) {
+        return new GcraRateLimiter(spec.getPermitsPerSecond(), spec.getPermitsPerWindow());
+    }
+
+}
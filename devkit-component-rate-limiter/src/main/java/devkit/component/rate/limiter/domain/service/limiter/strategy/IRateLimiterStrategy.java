@@ -0,0 +1,14 @@
+package devkit.component.rate.limiter.domain.service.limiter.strategy;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+
+/** One local limit algorithm */
+public interface IRateLimiterStrategy {
+
+    LimitAlgorithm algorithm();
+
+    IRateLimiter create(LimitSpecVO spec);
+
+}
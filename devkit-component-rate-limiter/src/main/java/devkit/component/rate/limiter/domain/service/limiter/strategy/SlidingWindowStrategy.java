@@ -0,0 +1,20 @@
+package devkit.component.rate.limiter.domain.service.limiter.strategy;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.SlidingWindowRateLimiter;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+
+public class SlidingWindowStrategy implements IRateLimiterStrategy {
+
+    @Override
+    public LimitAlgorithm algorithm() {
+        return LimitAlgorithm.SLIDING_WINDOW;
+    }
+
+    @Override
+    public IRateLimiter create(LimitSpecVO spec) {
+        return new SlidingWindowRateLimiter(spec.getPermitsPerWindow(), spec.getWindowNanos());
+    }
+
+}
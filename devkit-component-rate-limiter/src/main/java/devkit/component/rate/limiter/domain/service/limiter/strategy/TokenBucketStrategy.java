@@ -0,0 +1,20 @@
+package devkit.component.rate.limiter.domain.service.limiter.strategy;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.TokenBucketRateLimiter;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+
+public class TokenBucketStrategy implements IRateLimiterStrategy {
+
+    @Override
+    public LimitAlgorithm algorithm() {
+        return LimitAlgorithm.TOKEN_BUCKET;
+    }
+
+    @Override
+    public IRateLimiter create(LimitSpecVO spec) {
+        return new TokenBucketRateLimiter(spec.getPermitsPerSecond(), spec.getPermitsPerWindow());
+    }
+
+}
@@ -0,0 +1,62 @@
+package devkit.component.rate.limiter.domain.service.metrics;
+
+import devkit.component.rate.limiter.domain.model.valobj.HeavyHitterVO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving top-K: at most capacity counters; an unseen key takes over the smallest one,
+ * inheriting its count as error. Any key seen more than total/capacity times is kept.
+ */
+public class HeavyHitterSketch {
+
+    private final int capacity;
+
+    private final Map<String, long[]> counters;
+
+    public HeavyHitterSketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void offer(String key) {
+        long[] counter = counters.get(key);
+        if (null != counter) {
+            counter[0]++;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new long[]{1, 0});
+            return;
+        }
+
+        // Evict the smallest counter, O(capacity) on a miss only
+        String minKey = null;
+        long min = Long.MAX_VALUE;
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            if (entry.getValue()[0] < min) {
+                min = entry.getValue()[0];
+                minKey = entry.getKey();
+            }
+        }
+        counters.remove(minKey);
+        counters.put(key, new long[]{min + 1, min});
+    }
+
+    /** Top n keys by estimated count, counts scaled by the sampling rate that fed the sketch */
+    public synchronized List<HeavyHitterVO> top(int n, long scale) {
+        List<HeavyHitterVO> top = new ArrayList<>(counters.size());
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            top.add(new HeavyHitterVO(entry.getKey(), entry.getValue()[0] * scale, entry.getValue()[1] * scale));
+        }
+        top.sort((a, b) -> Long.compare(b.getCount(), a.getCount()));
+        return top.size() > n ? new ArrayList<>(top.subList(0, n)) : top;
+    }
+
+}
@@ -0,0 +1,32 @@
+package devkit.component.rate.limiter.domain.service.metrics;
+
+import devkit.component.rate.limiter.domain.model.valobj.RateLimiterPlanVO;
+import devkit.component.rate.limiter.types.enums.RejectReason;
+
+/** Decision metrics, tagged per method and key attr name, never per key value */
+public interface IRateLimiterMetrics {
+
+    IRateLimiterMetrics NOOP = new IRateLimiterMetrics() {
+        @Override
+        public void allowed(RateLimiterPlanVO plan) {
+        }
+
+        @Override
+        public void rejected(RateLimiterPlanVO plan, RejectReason reason) {
+        }
+
+        @Override
+        public void fallback(RateLimiterPlanVO plan, long durationNanos, boolean failed) {
+        }
+    };
+
+    /** All levels passed; counted on the first level */
+    void allowed(RateLimiterPlanVO plan);
+
+    /** Rejected by this level */
+    void rejected(RateLimiterPlanVO plan, RejectReason reason);
+
+    /** Fallback ran for this level */
+    void fallback(RateLimiterPlanVO plan, long durationNanos, boolean failed);
+
+}
@@ -0,0 +1,33 @@
+package devkit.component.rate.limiter.domain.service.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Lets one log line through per interval; the rest are only counted */
+public class LogSampler {
+
+    private final long intervalNanos;
+
+    private final AtomicLong nextLogNanos = new AtomicLong(System.nanoTime());
+
+    private final LongAdder suppressed = new LongAdder();
+
+    public LogSampler(long intervalMillis) {
+        this.intervalNanos = Math.max(0L, intervalMillis) * 1_000_000L;
+    }
+
+    /** Lines suppressed since the last one let through, or -1 when this one is suppressed too */
+    public long tryLog() {
+        if (intervalNanos == 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long next = nextLogNanos.get();
+        if (now - next < 0 || !nextLogNanos.compareAndSet(next, now + intervalNanos)) {
+            suppressed.increment();
+            return -1;
+        }
+        return suppressed.sumThenReset();
+    }
+
+}
@@ -0,0 +1,69 @@
+package devkit.component.rate.limiter.domain.service.metrics;
+
+import devkit.component.rate.limiter.domain.model.valobj.RateLimiterPlanVO;
+import devkit.component.rate.limiter.types.enums.RejectReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters per limit level: devkit.rate.limiter.calls{outcome} and devkit.rate.limiter.fallback{outcome}.
+ * Meters are looked up once per plan, so a decision costs a map read and an increment.
+ */
+public class MicrometerRateLimiterMetrics implements IRateLimiterMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<RateLimiterPlanVO, PlanMeters> meters = new ConcurrentHashMap<>();
+
+    public MicrometerRateLimiterMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void allowed(RateLimiterPlanVO plan) {
+        meters(plan).allowed.increment();
+    }
+
+    @Override
+    public void rejected(RateLimiterPlanVO plan, RejectReason reason) {
+        PlanMeters planMeters = meters(plan);
+        (reason == RejectReason.BLACKLISTED ? planMeters.blacklisted : planMeters.rejected).increment();
+    }
+
+    @Override
+    public void fallback(RateLimiterPlanVO plan, long durationNanos, boolean failed) {
+        PlanMeters planMeters = meters(plan);
+        (failed ? planMeters.fallbackErrors : planMeters.fallbacks).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private PlanMeters meters(RateLimiterPlanVO plan) {
+        PlanMeters planMeters = meters.get(plan);
+        return null != planMeters ? planMeters : meters.computeIfAbsent(plan, PlanMeters::new);
+    }
+
+    private class PlanMeters {
+
+        private final Counter allowed;
+        private final Counter rejected;
+        private final Counter blacklisted;
+        private final Timer fallbacks;
+        private final Timer fallbackErrors;
+
+        PlanMeters(RateLimiterPlanVO plan) {
+            Tags tags = Tags.of("method", plan.getName(), "key", plan.getKey(), "algorithm", plan.getLimitSpec().getAlgorithm().name());
+            this.allowed = Counter.builder("devkit.rate.limiter.calls").tags(tags).tag("outcome", "allowed").register(meterRegistry);
+            this.rejected = Counter.builder("devkit.rate.limiter.calls").tags(tags).tag("outcome", "rejected").register(meterRegistry);
+            this.blacklisted = Counter.builder("devkit.rate.limiter.calls").tags(tags).tag("outcome", "blacklisted").register(meterRegistry);
+            this.fallbacks = Timer.builder("devkit.rate.limiter.fallback").tags(tags).tag("outcome", "success").register(meterRegistry);
+            this.fallbackErrors = Timer.builder("devkit.rate.limiter.fallback").tags(tags).tag("outcome", "error").register(meterRegistry);
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+package devkit.component.rate.limiter.domain.service.metrics;
+
+import devkit.component.rate.limiter.domain.model.valobj.HeavyHitterVO;
+import devkit.component.rate.limiter.domain.model.valobj.RateLimiterPlanVO;
+import devkit.component.rate.limiter.domain.model.valobj.RejectionEventVO;
+import devkit.component.rate.limiter.types.enums.RejectReason;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Samples one in sampleRate rejections into a lock-free ring of recent events and a heavy-hitter
+ * sketch per plan. Unsampled rejections cost one random draw.
+ */
+public class RejectionRecorder {
+
+    private final int sampleRate;
+
+    private final int heavyHitterCapacity;
+
+    // Ring of recent sampled events, overwritten in order
+    private final AtomicReferenceArray<RejectionEventVO> ring;
+
+    private final int mask;
+
+    private final AtomicLong cursor = new AtomicLong();
+
+    // Most rejected keys, per plan id
+    private final Map<String, HeavyHitterSketch> heavyHitters = new ConcurrentHashMap<>();
+
+    public RejectionRecorder() {
+        this(256, 16, 32);
+    }
+
+    public RejectionRecorder(int ringSize, int sampleRate, int heavyHitterCapacity) {
+        if (ringSize <= 0 || sampleRate <= 0 || heavyHitterCapacity <= 0) {
+            throw new IllegalArgumentException("ringSize, sampleRate and heavyHitterCapacity must be positive");
+        }
+        int capacity = Integer.highestOneBit(ringSize - 1) << 1;
+        this.ring = new AtomicReferenceArray<>(Math.max(1, capacity));
+        this.mask = ring.length() - 1;
+        this.sampleRate = sampleRate;
+        this.heavyHitterCapacity = heavyHitterCapacity;
+    }
+
+    public void record(RateLimiterPlanVO plan, String keyAttr, RejectReason reason) {
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+        ring.lazySet((int) (cursor.getAndIncrement() & mask), new RejectionEventVO(System.currentTimeMillis(), plan.getId(), keyAttr, reason));
+
+        HeavyHitterSketch sketch = heavyHitters.get(plan.getId());
+        if (null == sketch) {
+            sketch = heavyHitters.computeIfAbsent(plan.getId(), id -> new HeavyHitterSketch(heavyHitterCapacity));
+        }
+        sketch.offer(keyAttr);
+    }
+
+    /** Sampled events still in the ring, newest first */
+    public List<RejectionEventVO> recent() {
+        long end = cursor.get();
+        List<RejectionEventVO> events = new ArrayList<>(ring.length());
+        for (long i = end - 1; i >= 0 && i >= end - ring.length(); i--) {
+            RejectionEventVO event = ring.get((int) (i & mask));
+            if (null != event) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /** Most rejected keys per plan id, counts estimated back from the sampling */
+    public Map<String, List<HeavyHitterVO>> heavyHitters(int n) {
+        if (heavyHitters.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<HeavyHitterVO>> top = new LinkedHashMap<>();
+        for (Map.Entry<String, HeavyHitterSketch> entry : heavyHitters.entrySet()) {
+            top.put(entry.getKey(), entry.getValue().top(n, sampleRate));
+        }
+        return top;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+}
@@ -0,0 +1,27 @@
+package devkit.component.rate.limiter.domain.service.registry;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+
+/** Per-key limiters of one plan */
+public interface IRateLimiterStore {
+
+    IRateLimiter getOrCreate(String key);
+
+    /** Take a permit of the key's limiter; stores may do it without handing out a limiter */
+    default boolean tryAcquire(String key) {
+        return getOrCreate(key).tryAcquire();
+    }
+
+    /** Keys held */
+    long size();
+
+    /** Bound on keys, or estimated bytes when bounded by weight */
+    long maximum();
+
+    long getEvictedCount();
+
+    /** New rate for new and live limiters; those that cannot change in place are dropped and recreated on next use */
+    void updateLimit(LimitSpecVO limitSpec);
+
+}
@@ -0,0 +1,404 @@
+package devkit.component.rate.limiter.domain.service.registry;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.TokenBucketState;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets for numeric keys in flat primitive arrays, about 27 bytes per
+ * key and no object per key. Open addressing with linear probing over 16
+ * segments: lookups are lock-free, inserts lock their segment. A slot holds one
+ * key for the life of its arrays. Idle keys expire by access clock and are dropped
+ * when a full segment is rebuilt, at most once a second; the old arrays are frozen
+ * so stale views move to the new slot instead of writing where nobody reads.
+ * Keys that find no room, and non-numeric keys, go to the fallback store.
+ * tryAcquire(key) works on the slot directly; getOrCreate hands out a short-lived view
+ * for callers that hold the limiter.
+ */
+public class LongKeyRateLimiterTable implements IRateLimiterStore {
+
+    /** Estimated bytes per key: key, state and access time, at 0.75 load */
+    public static final int BYTES_PER_KEY = 27;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private static final int SEGMENT_BITS = 4;
+
+    private static final double MAX_LOAD = 0.75;
+
+    /** Rate shared by all slots; swapped on updateLimit, slot states carry over */
+    private volatile TokenBucketState bucket;
+
+    private final Segment[] segments;
+
+    private final long maximumSize;
+
+    private final long expireAfterAccessMillis;
+
+    /** expireAfterAccess, or the burst horizon when longer, so a key keeps its spent budget while it matters */
+    private volatile int expireAfterAccessSeconds;
+
+    private final long baseNanos = System.nanoTime();
+
+    private final IRateLimiterStore fallback;
+
+    private final LongAdder evictedCount = new LongAdder();
+
+    public LongKeyRateLimiterTable(LimitSpecVO limitSpec, long maximumSize, long expireAfterAccessMillis, IRateLimiterStore fallback) {
+        this.bucket = new TokenBucketState(limitSpec.getPermitsPerSecond(), limitSpec.getPermitsPerWindow());
+        this.maximumSize = maximumSize;
+        this.expireAfterAccessMillis = expireAfterAccessMillis;
+        this.expireAfterAccessSeconds = expireAfterAccessSeconds(limitSpec);
+        this.fallback = fallback;
+
+        int segmentCount = 1 << SEGMENT_BITS;
+        long perSegment = Math.max(1L, (maximumSize + segmentCount - 1) / segmentCount);
+        long needed = Math.min(1L << 30, (long) Math.ceil(perSegment / MAX_LOAD) + 1);
+        int slots = 2;
+        while (slots < needed) {
+            slots <<= 1;
+        }
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(slots, (int) Math.min(perSegment, (long) (slots * MAX_LOAD)));
+        }
+    }
+
+    private int expireAfterAccessSeconds(LimitSpecVO limitSpec) {
+        long horizonSeconds = (limitSpec.getStateHorizonNanos() + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        long seconds = Math.max(TimeUnit.MILLISECONDS.toSeconds(expireAfterAccessMillis), horizonSeconds);
+        return (int) Math.min(Integer.MAX_VALUE / 2, Math.max(1L, seconds));
+    }
+
+    @Override
+    public IRateLimiter getOrCreate(String key) {
+        long id = parse(key);
+        return id == EMPTY ? fallback.getOrCreate(key) : getOrCreate(id);
+    }
+
+    /** Acquire on the slot itself, no limiter view */
+    @Override
+    public boolean tryAcquire(String key) {
+        long id = parse(key);
+        return id == EMPTY ? fallback.tryAcquire(key) : tryAcquire(id);
+    }
+
+    /** Decimal long as Long.parseLong reads it, or EMPTY for anything else; never throws, non-numeric keys are routine */
+    static long parse(String key) {
+        int length = key.length();
+        char sign = length > 0 ? key.charAt(0) : '0';
+        boolean negative = sign == '-';
+        int start = negative || sign == '+' ? 1 : 0;
+        if (length == start) {
+            return EMPTY;
+        }
+        long value = 0;
+        for (int i = start; i < length; i++) {
+            int digit = key.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return EMPTY;
+            }
+            // Accumulate negatively: Long.MIN_VALUE has no positive counterpart
+            if (value < (Long.MIN_VALUE + digit) / 10) {
+                return EMPTY;
+            }
+            value = value * 10 - digit;
+        }
+        if (negative) {
+            return value;
+        }
+        return value == Long.MIN_VALUE ? EMPTY : -value;
+    }
+
+    public boolean tryAcquire(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        Segment segment = segments[(int) (hash >>> (64 - SEGMENT_BITS))];
+        int slotHash = (int) (hash >>> 16);
+
+        Slots slots = segment.slots;
+        int index = slots.find(key, slotHash);
+        if (index < 0) {
+            slots = segment.insert(key, slotHash);
+            if (null == slots) {
+                return fallback.tryAcquire(Long.toString(key));
+            }
+            index = slots.find(key, slotHash);
+        }
+        return tryAcquire(segment, slots, index, key);
+    }
+
+    public IRateLimiter getOrCreate(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        Segment segment = segments[(int) (hash >>> (64 - SEGMENT_BITS))];
+        int slotHash = (int) (hash >>> 16);
+
+        Slots slots = segment.slots;
+        int index = slots.find(key, slotHash);
+        if (index < 0) {
+            slots = segment.insert(key, slotHash);
+            if (null == slots) {
+                // Own bucket in the fallback, whose admission keeps hot keys under a spray
+                return fallback.getOrCreate(Long.toString(key));
+            }
+            index = slots.find(key, slotHash);
+        }
+        return new SlotRateLimiter(segment, slots, index, key);
+    }
+
+    private boolean tryAcquire(Segment segment, Slots slots, int index, long key) {
+        touch(slots, index);
+        TokenBucketState bucket = this.bucket;
+        long now = bucket.now();
+        for (; ; ) {
+            long current = slots.states.get(index);
+            if (current == TokenBucketState.NONE) {
+                // Frozen by a rebuild: wait for it to publish, then find the key again
+                segment.lock.lock();
+                segment.lock.unlock();
+                return tryAcquire(key);
+            }
+            long refilled = bucket.refill(current, now);
+            if (!bucket.hasPermit(refilled)) {
+                return false;
+            }
+            if (slots.states.compareAndSet(index, current, bucket.take(refilled))) {
+                return true;
+            }
+        }
+    }
+
+    /** Write the access clock only when the second changed */
+    private void touch(Slots slots, int index) {
+        int now = nowSeconds();
+        if (slots.accessed.get(index) != now) {
+            slots.accessed.lazySet(index, now);
+        }
+    }
+
+    private int nowSeconds() {
+        return (int) TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - baseNanos);
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size + fallback.size();
+    }
+
+    @Override
+    public long maximum() {
+        return maximumSize;
+    }
+
+    @Override
+    public long getEvictedCount() {
+        return evictedCount.sum() + fallback.getEvictedCount();
+    }
+
+    @Override
+    public void updateLimit(LimitSpecVO limitSpec) {
+        bucket = new TokenBucketState(limitSpec.getPermitsPerSecond(), limitSpec.getPermitsPerWindow());
+        expireAfterAccessSeconds = expireAfterAccessSeconds(limitSpec);
+        fallback.updateLimit(limitSpec);
+    }
+
+    /** Parallel arrays of one segment; replaced whole on rebuild */
+    private static final class Slots {
+
+        final AtomicLongArray keys;
+
+        final AtomicLongArray states;
+
+        /** Last access, seconds since table creation */
+        final AtomicIntegerArray accessed;
+
+        final int mask;
+
+        Slots(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.states = new AtomicLongArray(capacity);
+            this.accessed = new AtomicIntegerArray(capacity);
+            this.mask = capacity - 1;
+            for (int i = 0; i < capacity; i++) {
+                keys.lazySet(i, EMPTY);
+            }
+        }
+
+        int find(long key, int hash) {
+            int index = hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                long current = keys.get(index);
+                if (current == key) {
+                    return index;
+                }
+                if (current == EMPTY) {
+                    return -1;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+    }
+
+    private final class Segment {
+
+        final ReentrantLock lock = new ReentrantLock();
+
+        final int maxSize;
+
+        volatile Slots slots;
+
+        volatile int size;
+
+        Segment(int capacity, int maxSize) {
+            this.slots = new Slots(capacity);
+            this.maxSize = maxSize;
+        }
+
+        /** Last rebuild, seconds since table creation; under lock */
+        int rebuiltAt = -1;
+
+        /** Slots holding the key afterwards, or null when full */
+        Slots insert(long key, int hash) {
+            lock.lock();
+            try {
+                Slots current = slots;
+                int index = current.find(key, hash);
+                if (index >= 0) {
+                    return current;
+                }
+
+                if (size >= maxSize) {
+                    // Nothing expires within a second, so a spray cannot force a copy per insert
+                    int now = nowSeconds();
+                    if (now == rebuiltAt) {
+                        return null;
+                    }
+                    current = rebuild(now);
+                    if (size >= maxSize) {
+                        return null;
+                    }
+                }
+                index = hash & current.mask;
+                while (current.keys.get(index) != EMPTY) {
+                    index = (index + 1) & current.mask;
+                }
+                put(current, index, key, nowSeconds());
+                size++;
+                return current;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** Copy live keys into fresh slots, dropping idle ones; every old state is frozen as it is copied */
+        private Slots rebuild(int now) {
+            rebuiltAt = now;
+            Slots old = slots;
+            Slots fresh = new Slots(old.mask + 1);
+            int live = 0;
+            for (int i = 0; i <= old.mask; i++) {
+                long key = old.keys.get(i);
+                if (key == EMPTY) {
+                    continue;
+                }
+                long state = old.states.getAndSet(i, TokenBucketState.NONE);
+                if (isExpired(old, i, now)) {
+                    evictedCount.increment();
+                    continue;
+                }
+                int index = (int) ((key * 0x9E3779B97F4A7C15L) >>> 16) & fresh.mask;
+                while (fresh.keys.get(index) != EMPTY) {
+                    index = (index + 1) & fresh.mask;
+                }
+                fresh.states.set(index, state);
+                fresh.accessed.set(index, old.accessed.get(i));
+                fresh.keys.set(index, key);
+                live++;
+            }
+            size = live;
+            slots = fresh;
+            return fresh;
+        }
+
+        private boolean isExpired(Slots slots, int index, int now) {
+            return now - slots.accessed.get(index) > expireAfterAccessSeconds;
+        }
+
+        /** State before key, so lock-free readers never see the key with a stale bucket */
+        private void put(Slots slots, int index, long key, int now) {
+            slots.states.set(index, bucket.initial());
+            slots.accessed.set(index, now);
+            slots.keys.set(index, key);
+        }
+
+    }
+
+    /** View of one slot; short-lived, nothing retained per key */
+    private final class SlotRateLimiter implements IRateLimiter {
+
+        private final Segment segment;
+
+        private final Slots slots;
+
+        private final int index;
+
+        private final long key;
+
+        SlotRateLimiter(Segment segment, Slots slots, int index, long key) {
+            this.segment = segment;
+            this.slots = slots;
+            this.index = index;
+            this.key = key;
+        }
+
+        @Override
+        public boolean tryAcquire() {
+            return LongKeyRateLimiterTable.this.tryAcquire(segment, slots, index, key);
+        }
+
+        @Override
+        public void refund() {
+            TokenBucketState bucket = LongKeyRateLimiterTable.this.bucket;
+            for (; ; ) {
+                long current = slots.states.get(index);
+                if (current == TokenBucketState.NONE) {
+                    relocate().refund();
+                    return;
+                }
+                if (slots.states.compareAndSet(index, current, bucket.refund(current))) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public long nanosToNextPermit() {
+            TokenBucketState bucket = LongKeyRateLimiterTable.this.bucket;
+            long current = slots.states.get(index);
+            if (current == TokenBucketState.NONE) {
+                return relocate().nanosToNextPermit();
+            }
+            return bucket.nanosToNextPermit(current, bucket.now());
+        }
+
+        /** Frozen by a rebuild: wait for it to publish, then find the key again */
+        private IRateLimiter relocate() {
+            segment.lock.lock();
+            segment.lock.unlock();
+            return getOrCreate(key);
+        }
+
+    }
+
+}
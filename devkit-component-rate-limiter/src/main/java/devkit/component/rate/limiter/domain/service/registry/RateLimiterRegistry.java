@@ -0,0 +1,163 @@
+package devkit.component.rate.limiter.domain.service.registry;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiterEngine;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-key limiters of one plan, created atomically once per key.
+ * Bounded by entry count or estimated bytes; W-TinyLFU admission keeps hot keys
+ * resident when one-off keys are sprayed at the method.
+ */
+public class RateLimiterRegistry implements IRateLimiterStore {
+
+    /** Estimated bytes per entry besides the key chars: cache node, String, limiter */
+    static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private final IRateLimiterEngine rateLimiterEngine;
+
+    /** Method id, prefixes limiter keys */
+    private final String namespace;
+
+    private volatile LimitSpecVO limitSpec;
+
+    private final long expireAfterAccessNanos;
+
+    /** Idle time before a limiter is dropped: expireAfterAccess, or longer while the window still counts */
+    private volatile long idleNanos;
+
+    // Per-key limiters, expire when idle
+    private final Cache<String, IRateLimiter> limiters;
+
+    /** Limiters created */
+    private final LongAdder createdCount = new LongAdder();
+
+    /** Racing creations that reused the winner's limiter */
+    private final LongAdder deduplicatedCount = new LongAdder();
+
+    public RateLimiterRegistry(IRateLimiterEngine rateLimiterEngine, String namespace, LimitSpecVO limitSpec) {
+        this(rateLimiterEngine, namespace, limitSpec, 100_000, 0, TimeUnit.MINUTES.toMillis(1));
+    }
+
+    /**
+     * @param maximumSize             entries kept, used when maximumWeightBytes is 0
+     * @param maximumWeightBytes      estimated bytes kept; 0 bounds by maximumSize
+     * @param expireAfterAccessMillis idle limiters dropped after, or after the limit's window when longer
+     */
+    public RateLimiterRegistry(IRateLimiterEngine rateLimiterEngine, String namespace, LimitSpecVO limitSpec,
+                               long maximumSize, long maximumWeightBytes, long expireAfterAccessMillis) {
+        this.rateLimiterEngine = rateLimiterEngine;
+        this.namespace = namespace;
+        this.limitSpec = limitSpec;
+        this.expireAfterAccessNanos = TimeUnit.MILLISECONDS.toNanos(expireAfterAccessMillis);
+        this.idleNanos = idleNanos(limitSpec);
+
+        Caffeine<String, IRateLimiter> builder = Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, IRateLimiter>() {
+                    @Override
+                    public long expireAfterCreate(String key, IRateLimiter limiter, long currentTime) {
+                        return idleNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, IRateLimiter limiter, long currentTime, long currentDuration) {
+                        return idleNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, IRateLimiter limiter, long currentTime, long currentDuration) {
+                        return idleNanos;
+                    }
+                })
+                .recordStats();
+        if (maximumWeightBytes > 0) {
+            builder.maximumWeight(maximumWeightBytes)
+                    .weigher((String key, IRateLimiter limiter) -> ENTRY_OVERHEAD_BYTES + key.length() * 2);
+        } else {
+            builder.maximumSize(maximumSize);
+        }
+        this.limiters = builder.build();
+    }
+
+    /** A key idle for less than its window comes back to its spent budget, not a fresh one */
+    private long idleNanos(LimitSpecVO limitSpec) {
+        return Math.max(expireAfterAccessNanos, limitSpec.getStateHorizonNanos());
+    }
+
+    @Override
+    public IRateLimiter getOrCreate(String key) {
+        IRateLimiter limiter = limiters.getIfPresent(key);
+        if (null != limiter) {
+            return limiter;
+        }
+
+        // Miss: single atomic create, losers of the race get the winner's limiter
+        boolean[] created = new boolean[1];
+        limiter = limiters.get(key, k -> {
+            created[0] = true;
+            return rateLimiterEngine.create(namespace + ":" + k, limitSpec);
+        });
+        if (created[0]) {
+            createdCount.increment();
+        } else {
+            deduplicatedCount.increment();
+        }
+        return limiter;
+    }
+
+    /** Run pending evictions and expirations now */
+    public void cleanUp() {
+        limiters.cleanUp();
+    }
+
+    @Override
+    public long size() {
+        return limiters.estimatedSize();
+    }
+
+    /** Estimated bytes held when bounded by weight, else the entry count */
+    public long weightedSize() {
+        return limiters.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(limiters.estimatedSize()))
+                .orElse(limiters.estimatedSize());
+    }
+
+    /** Entry or byte bound, matching weightedSize */
+    @Override
+    public long maximum() {
+        return limiters.policy().eviction().map(Policy.Eviction::getMaximum).orElse(Long.MAX_VALUE);
+    }
+
+    @Override
+    public long getEvictedCount() {
+        return limiters.stats().evictionCount();
+    }
+
+    @Override
+    public void updateLimit(LimitSpecVO limitSpec) {
+        this.limitSpec = limitSpec;
+        this.idleNanos = idleNanos(limitSpec);
+        for (Map.Entry<String, IRateLimiter> entry : limiters.asMap().entrySet()) {
+            if (!entry.getValue().updateLimit(limitSpec)) {
+                limiters.asMap().remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+    public long getDeduplicatedCount() {
+        return deduplicatedCount.sum();
+    }
+
+}
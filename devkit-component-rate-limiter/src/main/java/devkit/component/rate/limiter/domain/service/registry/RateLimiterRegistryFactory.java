@@ -0,0 +1,40 @@
+package devkit.component.rate.limiter.domain.service.registry;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiterEngine;
+
+import java.util.concurrent.TimeUnit;
+
+/** Creates plan registries with shared bounds */
+public class RateLimiterRegistryFactory {
+
+    private final long maximumSize;
+
+    private final long maximumWeightBytes;
+
+    private final long expireAfterAccessMillis;
+
+    public RateLimiterRegistryFactory() {
+        this(100_000, 0, TimeUnit.MINUTES.toMillis(1));
+    }
+
+    public RateLimiterRegistryFactory(long maximumSize, long maximumWeightBytes, long expireAfterAccessMillis) {
+        if (maximumSize <= 0 && maximumWeightBytes <= 0) {
+            throw new IllegalArgumentException("Registry needs a positive maximumSize or maximumWeightBytes");
+        }
+        this.maximumSize = maximumSize;
+        this.maximumWeightBytes = maximumWeightBytes;
+        this.expireAfterAccessMillis = expireAfterAccessMillis;
+    }
+
+    public RateLimiterRegistry create(IRateLimiterEngine rateLimiterEngine, String namespace, LimitSpecVO limitSpec) {
+        return new RateLimiterRegistry(rateLimiterEngine, namespace, limitSpec, maximumSize, maximumWeightBytes, expireAfterAccessMillis);
+    }
+
+    /** Primitive table for numeric keys, preallocated to the same bound; other keys go to a regular registry */
+    public LongKeyRateLimiterTable createLongKeyTable(IRateLimiterEngine rateLimiterEngine, String namespace, LimitSpecVO limitSpec) {
+        long maximumKeys = maximumWeightBytes > 0 ? Math.max(1L, maximumWeightBytes / LongKeyRateLimiterTable.BYTES_PER_KEY) : maximumSize;
+        return new LongKeyRateLimiterTable(limitSpec, maximumKeys, expireAfterAccessMillis, create(rateLimiterEngine, namespace, limitSpec));
+    }
+
+}
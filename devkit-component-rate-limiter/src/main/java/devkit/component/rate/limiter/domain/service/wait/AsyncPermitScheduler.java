@@ -0,0 +1,109 @@
+package devkit.component.rate.limiter.domain.service.wait;
+
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Waits for permits on a timer instead of a parked thread: each waiter is a
+ * scheduled retry at the limiter's next expected permit, until its deadline.
+ */
+public class AsyncPermitScheduler implements DisposableBean {
+
+    private static final long MIN_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ScheduledThreadPoolExecutor timer;
+
+    /** Runs the continuation, so the timer never runs caller code; caller ThreadLocals are not carried over */
+    private final Executor completionExecutor;
+
+    public AsyncPermitScheduler() {
+        this(1, ForkJoinPool.commonPool());
+    }
+
+    public AsyncPermitScheduler(int timerThreads, Executor completionExecutor) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.timer = new ScheduledThreadPoolExecutor(Math.max(1, timerThreads), r -> {
+            Thread thread = new Thread(r, "devkit-rate-limiter-wait-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.completionExecutor = completionExecutor;
+    }
+
+    /**
+     * Completes with true once a permit is taken, false at the timeout. Cancelling the future stops the
+     * wait, and a permit taken concurrently is refunded.
+     *
+     * @param spacingNanos retry gap when the limiter gives no estimate, about one permit interval
+     */
+    public CompletableFuture<Boolean> acquire(IRateLimiter limiter, long spacingNanos, long timeoutNanos) {
+        CompletableFuture<Boolean> acquired = new CompletableFuture<>();
+        schedule(limiter, spacingNanos, System.nanoTime() + timeoutNanos, acquired);
+        return acquired;
+    }
+
+    private void schedule(IRateLimiter limiter, long spacingNanos, long deadline, CompletableFuture<Boolean> acquired) {
+        long estimate = limiter.nanosToNextPermit();
+        long delay = Math.max(MIN_RETRY_NANOS, estimate > 0 ? estimate : spacingNanos);
+        delay = Math.max(0L, Math.min(delay, deadline - System.nanoTime()));
+        try {
+            timer.schedule(() -> poll(limiter, spacingNanos, deadline, acquired), delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            complete(limiter, acquired, false);
+        }
+    }
+
+    private void poll(IRateLimiter limiter, long spacingNanos, long deadline, CompletableFuture<Boolean> acquired) {
+        if (acquired.isDone()) {
+            return;
+        }
+        boolean granted;
+        try {
+            granted = limiter.tryAcquire();
+        } catch (RuntimeException e) {
+            completionExecutor.execute(() -> acquired.completeExceptionally(e));
+            return;
+        }
+        if (granted) {
+            complete(limiter, acquired, true);
+        } else if (deadline - System.nanoTime() <= 0) {
+            complete(limiter, acquired, false);
+        } else {
+            schedule(limiter, spacingNanos, deadline, acquired);
+        }
+    }
+
+    private void complete(IRateLimiter limiter, CompletableFuture<Boolean> acquired, boolean granted) {
+        Runnable completion = () -> {
+            // Cancelled while the permit was being taken: nobody will use it
+            if (!acquired.complete(granted) && granted) {
+                limiter.refund();
+            }
+        };
+        try {
+            completionExecutor.execute(completion);
+        } catch (RejectedExecutionException e) {
+            completion.run();
+        }
+    }
+
+    public int getWaiting() {
+        return timer.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+    }
+
+}
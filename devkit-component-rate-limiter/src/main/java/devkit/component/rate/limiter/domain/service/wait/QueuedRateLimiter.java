@@ -0,0 +1,125 @@
+package devkit.component.rate.limiter.domain.service.wait;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limiter with a bounded FIFO wait queue. Waiters line up on a fair lock; the
+ * head parks until the next expected permit, the rest wait their turn. Callers
+ * past maxQueueDepth are shed at once. Uses j.u.c. parking only, no monitors.
+ */
+public class QueuedRateLimiter implements IRateLimiter {
+
+    private static final long MIN_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final IRateLimiter delegate;
+
+    private final int maxQueueDepth;
+
+    /** Park gap when the delegate gives no estimate, about one permit interval */
+    private volatile long spacingNanos;
+
+    /** Waiters queued or at the head */
+    private final AtomicInteger depth = new AtomicInteger();
+
+    /** Fair: permits go out in arrival order */
+    private final ReentrantLock head = new ReentrantLock(true);
+
+    public QueuedRateLimiter(IRateLimiter delegate, int maxQueueDepth, long spacingNanos) {
+        this.delegate = delegate;
+        this.maxQueueDepth = Math.max(1, maxQueueDepth);
+        this.spacingNanos = spacingNanos;
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        // No barging past waiters
+        return depth.get() == 0 && delegate.tryAcquire();
+    }
+
+    @Override
+    public boolean tryAcquire(long timeout, TimeUnit unit) {
+        if (tryAcquire()) {
+            return true;
+        }
+        long timeoutNanos = unit.toNanos(timeout);
+        if (timeoutNanos <= 0) {
+            return false;
+        }
+        if (depth.incrementAndGet() > maxQueueDepth) {
+            // Shed: queue full
+            depth.decrementAndGet();
+            return false;
+        }
+
+        long deadline = System.nanoTime() + timeoutNanos;
+        try {
+            if (!head.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+            try {
+                return awaitPermit(deadline);
+            } finally {
+                head.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            depth.decrementAndGet();
+        }
+    }
+
+    /** Head of the queue: poll the delegate at its expected permit time */
+    private boolean awaitPermit(long deadline) {
+        for (; ; ) {
+            if (delegate.tryAcquire()) {
+                return true;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            long estimate = delegate.nanosToNextPermit();
+            LockSupport.parkNanos(this, Math.min(remaining, Math.max(MIN_PARK_NANOS, estimate > 0 ? estimate : spacingNanos)));
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public void refund() {
+        delegate.refund();
+    }
+
+    @Override
+    public void release(long latencyNanos) {
+        delegate.release(latencyNanos);
+    }
+
+    @Override
+    public long nanosToNextPermit() {
+        return delegate.nanosToNextPermit();
+    }
+
+    @Override
+    public boolean updateLimit(LimitSpecVO limitSpec) {
+        if (!delegate.updateLimit(limitSpec)) {
+            return false;
+        }
+        spacingNanos = (long) (1_000_000_000d / limitSpec.getPermitsPerSecond());
+        return true;
+    }
+
+    /** Waiters queued or at the head */
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+}
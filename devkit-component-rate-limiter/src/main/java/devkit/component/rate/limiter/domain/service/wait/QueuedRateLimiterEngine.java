@@ -0,0 +1,37 @@
+package devkit.component.rate.limiter.domain.service.wait;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiterEngine;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+import devkit.component.rate.limiter.types.enums.LimitMode;
+
+/** Wraps each limiter of the delegate engine in a bounded wait queue */
+public class QueuedRateLimiterEngine implements IRateLimiterEngine {
+
+    private final IRateLimiterEngine delegate;
+
+    private final int maxQueueDepth;
+
+    public QueuedRateLimiterEngine(IRateLimiterEngine delegate, int maxQueueDepth) {
+        this.delegate = delegate;
+        this.maxQueueDepth = maxQueueDepth;
+    }
+
+    @Override
+    public LimitMode mode() {
+        return delegate.mode();
+    }
+
+    @Override
+    public boolean supports(LimitAlgorithm algorithm) {
+        return delegate.supports(algorithm);
+    }
+
+    @Override
+    public IRateLimiter create(String key, LimitSpecVO limitSpec) {
+        return new QueuedRateLimiter(delegate.create(key, limitSpec), maxQueueDepth,
+                (long) (1_000_000_000d / limitSpec.getPermitsPerSecond()));
+    }
+
+}
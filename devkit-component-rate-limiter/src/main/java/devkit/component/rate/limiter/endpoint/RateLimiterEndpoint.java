@@ -0,0 +1,52 @@
+package devkit.component.rate.limiter.endpoint;
+
+import devkit.component.rate.limiter.aop.RateLimiterAOP;
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.model.valobj.RateLimiterPlanVO;
+import devkit.component.rate.limiter.domain.service.registry.IRateLimiterStore;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Inventory of limited methods: one entry per compiled limit level, with registry occupancy */
+@Endpoint(id = "ratelimiters")
+public class RateLimiterEndpoint {
+
+    private final RateLimiterAOP rateLimiterAOP;
+
+    public RateLimiterEndpoint(RateLimiterAOP rateLimiterAOP) {
+        this.rateLimiterAOP = rateLimiterAOP;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> plans() {
+        List<Map<String, Object>> plans = new ArrayList<>();
+        for (RateLimiterPlanVO plan : rateLimiterAOP.getPlans()) {
+            LimitSpecVO limitSpec = plan.getLimitSpec();
+            IRateLimiterStore registry = plan.getLimiterRegistry();
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", plan.getId());
+            entry.put("key", plan.getKey());
+            entry.put("mode", plan.getMode());
+            entry.put("algorithm", limitSpec.getAlgorithm());
+            entry.put("permitsPerSecond", limitSpec.getPermitsPerSecond());
+            entry.put("windowMillis", limitSpec.getWindowNanos() / 1_000_000);
+            entry.put("returnKind", plan.getReturnKind());
+            entry.put("waitTimeoutMillis", plan.getWaitTimeoutNanos() / 1_000_000);
+            entry.put("maxWaitMillis", plan.getMaxWaitNanos() / 1_000_000);
+            entry.put("blacklistCount", plan.getBlacklistCount());
+            entry.put("fallback", plan.getFallbackName());
+            entry.put("keys", registry.size());
+            entry.put("maxKeys", registry.maximum());
+            entry.put("evicted", registry.getEvictedCount());
+            plans.add(entry);
+        }
+        return plans;
+    }
+
+}
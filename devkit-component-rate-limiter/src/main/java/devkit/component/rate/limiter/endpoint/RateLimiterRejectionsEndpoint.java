@@ -0,0 +1,31 @@
+package devkit.component.rate.limiter.endpoint;
+
+import devkit.component.rate.limiter.domain.service.metrics.RejectionRecorder;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Sampled recent rejections, and the most rejected keys per limit level */
+@Endpoint(id = "ratelimiterrejections")
+public class RateLimiterRejectionsEndpoint {
+
+    private static final int TOP_KEYS = 10;
+
+    private final RejectionRecorder rejectionRecorder;
+
+    public RateLimiterRejectionsEndpoint(RejectionRecorder rejectionRecorder) {
+        this.rejectionRecorder = rejectionRecorder;
+    }
+
+    @ReadOperation
+    public Map<String, Object> rejections() {
+        Map<String, Object> rejections = new LinkedHashMap<>();
+        rejections.put("sampleRate", rejectionRecorder.getSampleRate());
+        rejections.put("heavyHitters", rejectionRecorder.heavyHitters(TOP_KEYS));
+        rejections.put("recent", rejectionRecorder.recent());
+        return rejections;
+    }
+
+}
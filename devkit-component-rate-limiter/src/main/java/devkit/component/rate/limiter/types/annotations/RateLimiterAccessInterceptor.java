@@ -1,22 +1,71 @@
 package devkit.component.rate.limiter.types.annotations;
 
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+import devkit.component.rate.limiter.types.enums.LimitMode;
+
 import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
 
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.METHOD})
 @Documented
+@Repeatable(RateLimiterAccessInterceptors.class)
 public @interface RateLimiterAccessInterceptor {
 
-    /** Key to identify subject; default "all" */
-    String key() default "all";
+    /** Key of the method-wide budget */
+    String ALL = "all";
+
+    /** Key to identify subject: param name or property path, e.g. "user.tenant.id"; default "all" */
+    String key() default ALL;
+
+    /** Local per node, or one cluster-wide budget (DISTRIBUTED, LEASED) */
+    LimitMode mode() default LimitMode.LOCAL;
+
+    /** Limiting algorithm; distributed modes support TOKEN_BUCKET only; GRADIENT limits calls in flight */
+    LimitAlgorithm algorithm() default LimitAlgorithm.TOKEN_BUCKET;
+
+    /** Requests per second; set this or permits */
+    double permitsPerSecond() default 0;
+
+    /** Requests per window, e.g. permits = 100, windowUnit = MINUTES; also the burst size */
+    long permits() default 0;
+
+    /** Window length, in windowUnit */
+    long window() default 1;
+
+    TimeUnit windowUnit() default TimeUnit.SECONDS;
 
-    /** Requests per second */
-    double permitsPerSecond();
+    /**
+     * CompletableFuture, Mono and Flux methods: ms to wait for a permit without blocking a thread; 0 rejects at once.
+     * Mono and Flux wait from subscription; after a wait the method runs on the wait executor, without caller ThreadLocals
+     */
+    long waitTimeout() default 0;
+
+    /** Synchronous methods: ms to wait in a FIFO queue per key for a permit; 0 rejects at once */
+    long maxWaitMillis() default 0;
+
+    /** Synchronous methods: waiters per key beyond this are rejected at once */
+    int maxQueueDepth() default 100;
+
+    /** Key values are numeric ids: keep token buckets in a primitive table, no object per key (LOCAL, TOKEN_BUCKET, a key attribute) */
+    boolean numericKey() default false;
 
     /** Blacklist threshold; 0 disables */
     double blacklistCount() default 0;
 
-    /** Fallback method name */
-    String fallbackMethod();
+    /** How long a blacklisted key stays banned, ms (default 24 hours) */
+    long blacklistBanMillis() default 86_400_000;
+
+    /** Rejection counts towards the blacklist halve every this many ms (default 1 hour) */
+    long blacklistDecayMillis() default 3_600_000;
+
+    /** Fallback method name, same parameters as the limited method; on the target, or on fallbackClass */
+    String fallbackMethod() default "";
+
+    /** Holder of the fallback: static fallback methods and constants, or a bean shared by all targets; void means the target */
+    Class<?> fallbackClass() default void.class;
+
+    /** Name of a static final field returned as is when blocked, instead of calling a fallback method */
+    String fallbackConstant() default "";
 
 }
@@ -0,0 +1,17 @@
+package devkit.component.rate.limiter.types.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Several limits on one method, e.g. per user, per tenant and per endpoint.
+ * Checked in declaration order in one pass; a rejection refunds the permits
+ * already taken by earlier levels and answers with the rejecting level's fallback.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD})
+@Documented
+public @interface RateLimiterAccessInterceptors {
+
+    RateLimiterAccessInterceptor[] value();
+
+}
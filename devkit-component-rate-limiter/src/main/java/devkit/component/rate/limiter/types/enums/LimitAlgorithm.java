@@ -0,0 +1,27 @@
+package devkit.component.rate.limiter.types.enums;
+
+public enum LimitAlgorithm {
+
+    /** Smooth refill, bursts up to one window of permits */
+    TOKEN_BUCKET,
+
+    /** Counter reset at each window boundary; cheapest, allows 2x at boundaries */
+    FIXED_WINDOW,
+
+    /** Current plus weighted previous window count; no boundary bursts */
+    SLIDING_WINDOW,
+
+    /** Generic cell rate; evenly spaced permits with one window of burst tolerance */
+    GCRA,
+
+    /** Adaptive concurrency limit from observed latency; permits is the initial in-flight limit */
+    GRADIENT,
+
+    ;
+
+    /** Holds a permit for the whole call, returned through release */
+    public boolean isConcurrency() {
+        return this == GRADIENT;
+    }
+
+}
@@ -0,0 +1,14 @@
+package devkit.component.rate.limiter.types.enums;
+
+public enum LimitMode {
+
+    /** Per JVM, in memory */
+    LOCAL,
+
+    /** Cluster-wide budget, one Redis script call per request */
+    DISTRIBUTED,
+
+    /** Cluster-wide budget, leased to each node in batches and served locally */
+    LEASED,
+
+}
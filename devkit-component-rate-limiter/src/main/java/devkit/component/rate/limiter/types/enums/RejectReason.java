@@ -0,0 +1,12 @@
+package devkit.component.rate.limiter.types.enums;
+
+/** Why a call went to the fallback */
+public enum RejectReason {
+
+    /** No permit within the limit, or within the wait */
+    RATE_EXCEEDED,
+
+    /** Key banned by the blacklist */
+    BLACKLISTED
+
+}
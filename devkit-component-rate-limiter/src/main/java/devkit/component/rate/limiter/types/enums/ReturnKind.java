@@ -0,0 +1,43 @@
+package devkit.component.rate.limiter.types.enums;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/** How an intercepted method returns its result */
+public enum ReturnKind {
+
+    /** Plain value, produced on the calling thread */
+    SYNC,
+
+    /** CompletableFuture or CompletionStage */
+    COMPLETION_STAGE,
+
+    /** Reactor Mono */
+    MONO,
+
+    /** Reactor Flux */
+    FLUX,
+
+    ;
+
+    public boolean isAsync() {
+        return this != SYNC;
+    }
+
+    /** Matched by name, reactor stays optional */
+    public static ReturnKind of(Method method) {
+        Class<?> returnType = method.getReturnType();
+        if (CompletionStage.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(CompletableFuture.class)) {
+            return COMPLETION_STAGE;
+        }
+        if ("reactor.core.publisher.Mono".equals(returnType.getName())) {
+            return MONO;
+        }
+        if ("reactor.core.publisher.Flux".equals(returnType.getName())) {
+            return FLUX;
+        }
+        return SYNC;
+    }
+
+}
@@ -0,0 +1,123 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.rate.limiter.aop.RateLimiterAOP;
+import devkit.component.rate.limiter.domain.service.limiter.LocalRateLimiterEngine;
+import devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncRateLimiterTest {
+
+    public static class AsyncService {
+
+        @RateLimiterAccessInterceptor(key = "userId", permitsPerSecond = 20, waitTimeout = 1000, fallbackMethod = "fallback")
+        public CompletableFuture<String> queued(String userId) {
+            return CompletableFuture.completedFuture("ok");
+        }
+
+        @RateLimiterAccessInterceptor(key = "userId", permitsPerSecond = 20, waitTimeout = 30, fallbackMethod = "fallback")
+        public CompletableFuture<String> shortWait(String userId) {
+            return CompletableFuture.completedFuture("ok");
+        }
+
+        @RateLimiterAccessInterceptor(key = "userId", permitsPerSecond = 20, waitTimeout = 1000, fallbackMethod = "fallbackMono")
+        public Mono<String> mono(String userId) {
+            return Mono.just("ok");
+        }
+
+        @RateLimiterAccessInterceptor(key = "userId", permitsPerSecond = 1, waitTimeout = 3000, fallbackMethod = "fallbackMono")
+        public Mono<String> slowMono(String userId) {
+            return Mono.just("ok");
+        }
+
+        public CompletableFuture<String> fallback(String userId) {
+            return CompletableFuture.completedFuture("fallback");
+        }
+
+        public Mono<String> fallbackMono(String userId) {
+            return Mono.just("fallback");
+        }
+
+    }
+
+    private AsyncService proxy() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new AsyncService());
+        factory.addAspect(new RateLimiterAOP(Collections.singletonList(new LocalRateLimiterEngine())));
+        return factory.getProxy();
+    }
+
+    @Test
+    public void test_burstIsQueuedNotRejected() throws Exception {
+        AsyncService service = proxy();
+        long start = System.nanoTime();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(service.queued("u1"));
+        }
+        for (CompletableFuture<String> result : results) {
+            Assert.assertEquals("ok", result.get(2, TimeUnit.SECONDS));
+        }
+        // Four permits at 50ms spacing
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 150);
+    }
+
+    @Test
+    public void test_waitTimeoutFallsBack() throws Exception {
+        AsyncService service = proxy();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(service.shortWait("u1"));
+        }
+        Assert.assertEquals("ok", results.get(0).get(1, TimeUnit.SECONDS));
+        Assert.assertEquals("fallback", results.get(4).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void test_monoIsDelayed() {
+        AsyncService service = proxy();
+        Assert.assertEquals("ok", service.mono("u1").block(Duration.ofSeconds(1)));
+        Assert.assertEquals("ok", service.mono("u1").block(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    public void test_monoAcquiresOnSubscribe() {
+        AsyncService service = proxy();
+        for (int i = 0; i < 5; i++) {
+            service.slowMono("u1");
+        }
+        // Built but never subscribed: the one permit is still there
+        Assert.assertEquals("ok", service.slowMono("u1").block(Duration.ofMillis(300)));
+
+        // Each subscription waits for its own permit
+        Mono<String> mono = service.slowMono("u2");
+        Assert.assertEquals("ok", mono.block(Duration.ofMillis(300)));
+        long start = System.nanoTime();
+        Assert.assertEquals("ok", mono.block(Duration.ofSeconds(2)));
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 800);
+    }
+
+    @Test
+    public void test_cancelledWaitLeavesThePermit() throws InterruptedException {
+        AsyncService service = proxy();
+        Assert.assertEquals("ok", service.slowMono("u1").block(Duration.ofMillis(300)));
+
+        Disposable waiting = service.slowMono("u1").subscribe();
+        Thread.sleep(100);
+        waiting.dispose();
+
+        // The refilled permit is not taken by the cancelled waiter
+        Thread.sleep(1_100);
+        Assert.assertEquals("ok", service.slowMono("u1").block(Duration.ofMillis(300)));
+    }
+
+}
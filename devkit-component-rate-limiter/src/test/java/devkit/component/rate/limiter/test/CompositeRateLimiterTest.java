@@ -0,0 +1,56 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.rate.limiter.aop.RateLimiterAOP;
+import devkit.component.rate.limiter.domain.model.valobj.RateLimiterPlanVO;
+import devkit.component.rate.limiter.domain.service.limiter.LocalRateLimiterEngine;
+import devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptor;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+public class CompositeRateLimiterTest {
+
+    public static class OrderService {
+
+        @RateLimiterAccessInterceptor(key = "userId", algorithm = LimitAlgorithm.FIXED_WINDOW, permits = 1, windowUnit = TimeUnit.MINUTES, fallbackMethod = "userFallback")
+        @RateLimiterAccessInterceptor(algorithm = LimitAlgorithm.FIXED_WINDOW, permits = 2, windowUnit = TimeUnit.MINUTES, fallbackMethod = "endpointFallback")
+        public String order(String userId) {
+            return "ok";
+        }
+
+        public String userFallback(String userId) {
+            return "user";
+        }
+
+        public String endpointFallback(String userId) {
+            return "endpoint";
+        }
+
+    }
+
+    @Test
+    public void test_levelsCheckedInOnePassAndRefunded() {
+        RateLimiterAOP aop = new RateLimiterAOP(Collections.singletonList(new LocalRateLimiterEngine()));
+        AspectJProxyFactory factory = new AspectJProxyFactory(new OrderService());
+        factory.addAspect(aop);
+        OrderService service = factory.getProxy();
+
+        Assert.assertEquals("ok", service.order("u1"));
+        Assert.assertEquals("user", service.order("u1"));
+        Assert.assertEquals("ok", service.order("u2"));
+        // Endpoint budget spent: u3 passes its own level, then is refunded
+        Assert.assertEquals("endpoint", service.order("u3"));
+
+        Assert.assertEquals(2, aop.getPlans().size());
+        RateLimiterPlanVO userLevel = aop.getPlans().stream()
+                .filter(plan -> "userId".equals(plan.getKey()))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        Assert.assertTrue(userLevel.getLimiterRegistry().getOrCreate("u3").tryAcquire());
+    }
+
+}
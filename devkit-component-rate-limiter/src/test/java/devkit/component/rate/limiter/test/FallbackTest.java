@@ -0,0 +1,70 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.rate.limiter.aop.RateLimiterAOP;
+import devkit.component.rate.limiter.domain.service.limiter.LocalRateLimiterEngine;
+import devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptor;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+public class FallbackTest {
+
+    public static class Fallbacks {
+
+        public static final String BUSY = "busy";
+
+        public static int shared(String userId, int amount) {
+            return -amount;
+        }
+
+    }
+
+    public static class PayService {
+
+        @RateLimiterAccessInterceptor(key = "userId", algorithm = LimitAlgorithm.FIXED_WINDOW, permits = 1, windowUnit = TimeUnit.MINUTES,
+                fallbackClass = Fallbacks.class, fallbackConstant = "BUSY")
+        public String query(String userId) {
+            return "ok";
+        }
+
+        @RateLimiterAccessInterceptor(key = "userId", algorithm = LimitAlgorithm.FIXED_WINDOW, permits = 1, windowUnit = TimeUnit.MINUTES,
+                fallbackClass = Fallbacks.class, fallbackMethod = "shared")
+        public int pay(String userId, int amount) {
+            return amount;
+        }
+
+        @RateLimiterAccessInterceptor(key = "userId", permitsPerSecond = 1, fallbackMethod = "missing")
+        public String refund(String userId) {
+            return "ok";
+        }
+
+    }
+
+    private PayService proxy() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new PayService());
+        factory.addAspect(new RateLimiterAOP(Collections.singletonList(new LocalRateLimiterEngine())));
+        return factory.getProxy();
+    }
+
+    @Test
+    public void test_constantAndStaticFallback() {
+        PayService service = proxy();
+
+        Assert.assertEquals("ok", service.query("u1"));
+        Assert.assertEquals("busy", service.query("u1"));
+
+        Assert.assertEquals(5, service.pay("u1", 5));
+        Assert.assertEquals(-5, service.pay("u1", 5));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_missingFallbackFailsOnPlanCompile() {
+        // Fails on the first call, before any rejection
+        proxy().refund("u1");
+    }
+
+}
@@ -0,0 +1,93 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.rate.limiter.aop.RateLimiterAOP;
+import devkit.component.rate.limiter.domain.service.limiter.GradientConcurrencyLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.LocalRateLimiterEngine;
+import devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptor;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+public class GradientConcurrencyLimiterTest {
+
+    public static class ReactiveService {
+
+        @RateLimiterAccessInterceptor(key = "userId", algorithm = LimitAlgorithm.GRADIENT, permits = 2, fallbackMethod = "fallback")
+        public Mono<String> call(String userId) {
+            return Mono.just("ok");
+        }
+
+        public Mono<String> fallback(String userId) {
+            return Mono.just("fallback");
+        }
+
+    }
+
+    @Test
+    public void test_inFlightIsCapped() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(3);
+        Assert.assertTrue(limiter.tryAcquire());
+        Assert.assertTrue(limiter.tryAcquire());
+        Assert.assertTrue(limiter.tryAcquire());
+        Assert.assertFalse(limiter.tryAcquire());
+
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(10));
+        Assert.assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void test_limitGrowsWhenSteadyAndShrinksWhenSlow() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 1, 100);
+
+        // Saturated at steady latency: probe upward
+        saturate(limiter, 200, TimeUnit.MILLISECONDS.toNanos(10));
+        double grown = limiter.getLimit();
+        Assert.assertTrue("limit " + grown, grown > 20);
+
+        // Downstream slows down 5x: back off
+        saturate(limiter, 50, TimeUnit.MILLISECONDS.toNanos(50));
+        Assert.assertTrue("limit " + limiter.getLimit(), limiter.getLimit() < grown / 2);
+        Assert.assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void test_reactivePermitPerSubscription() {
+        RateLimiterAOP aop = new RateLimiterAOP(Collections.singletonList(new LocalRateLimiterEngine()));
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ReactiveService());
+        factory.addAspect(aop);
+        ReactiveService service = factory.getProxy();
+
+        // Built but never subscribed: no permit taken
+        for (int i = 0; i < 5; i++) {
+            service.call("u1");
+        }
+        GradientConcurrencyLimiter limiter = (GradientConcurrencyLimiter) aop.getPlans().get(0).getLimiterRegistry().getOrCreate("u1");
+        Assert.assertEquals(0, limiter.getInFlight());
+
+        // Resubscribed: one permit taken and released per subscription
+        Mono<String> mono = service.call("u1");
+        Assert.assertEquals("ok", mono.block(Duration.ofSeconds(1)));
+        Assert.assertEquals(Long.valueOf(3), mono.repeat(2).count().block(Duration.ofSeconds(1)));
+        Assert.assertEquals(0, limiter.getInFlight());
+        Assert.assertEquals("ok", service.call("u1").block(Duration.ofSeconds(1)));
+    }
+
+    private static void saturate(GradientConcurrencyLimiter limiter, int rounds, long latencyNanos) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(latencyNanos);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.rate.limiter.domain.service.blacklist.KeyBlacklist;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KeyBlacklistTest {
+
+    @Test
+    public void test_bannedAfterThresholdUntilBanEnds() throws InterruptedException {
+        KeyBlacklist blacklist = new KeyBlacklist(2, 200, 60_000);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertFalse(blacklist.isBanned("u1"));
+            blacklist.recordRejection("u1");
+        }
+        Assert.assertTrue(blacklist.isBanned("u1"));
+        Assert.assertFalse(blacklist.isBanned("u2"));
+        Assert.assertEquals(1, blacklist.getOffenderCount());
+
+        Thread.sleep(250);
+        Assert.assertFalse(blacklist.isBanned("u1"));
+    }
+
+    @Test
+    public void test_countsDecay() throws InterruptedException {
+        KeyBlacklist blacklist = new KeyBlacklist(3, 60_000, 100);
+        blacklist.recordRejection("u1");
+        blacklist.recordRejection("u1");
+        blacklist.recordRejection("u1");
+
+        // Halved to 1 before the next rejections count
+        Thread.sleep(150);
+        blacklist.recordRejection("u1");
+        blacklist.recordRejection("u1");
+        Assert.assertFalse(blacklist.isBanned("u1"));
+    }
+
+    @Test
+    public void test_keySprayDoesNotBanLightlyRejectedKeys() {
+        KeyBlacklist blacklist = new KeyBlacklist(10, 60_000, 3_600_000);
+        // ~120 per sketch cell: every estimate is far past the threshold
+        for (int i = 0; i < 500_000; i++) {
+            blacklist.recordRejection("spray-" + i);
+        }
+
+        blacklist.recordRejection("innocent");
+        blacklist.recordRejection("innocent");
+        Assert.assertFalse(blacklist.isBanned("innocent"));
+        Assert.assertEquals(0, blacklist.getOffenderCount());
+    }
+
+    @Test
+    public void test_countsDecayOncePerPeriodPassed() throws InterruptedException {
+        KeyBlacklist blacklist = new KeyBlacklist(10, 60_000, 50);
+        for (int i = 0; i < 10; i++) {
+            blacklist.recordRejection("u1");
+        }
+
+        // Ten periods idle: nothing left of the old count, not half of it
+        Thread.sleep(520);
+        for (int i = 0; i < 6; i++) {
+            blacklist.recordRejection("u1");
+        }
+        Assert.assertFalse(blacklist.isBanned("u1"));
+    }
+
+    @Test
+    public void test_keySprayDoesNotDisableBans() {
+        KeyBlacklist blacklist = new KeyBlacklist(10, 60_000, 3_600_000);
+        // Far more one-off keys than candidate slots
+        for (int i = 0; i < 100_000; i++) {
+            blacklist.recordRejection("spray-" + i);
+        }
+
+        for (int i = 0; i < 11; i++) {
+            blacklist.recordRejection("attacker");
+        }
+        Assert.assertTrue(blacklist.isBanned("attacker"));
+    }
+
+}
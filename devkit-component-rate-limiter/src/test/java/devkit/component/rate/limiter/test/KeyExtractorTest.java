@@ -0,0 +1,93 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.rate.limiter.domain.service.key.IKeyExtractor;
+import devkit.component.rate.limiter.domain.service.key.KeyExtractorFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KeyExtractorTest {
+
+    private final KeyExtractorFactory keyExtractorFactory = new KeyExtractorFactory();
+
+    @Test
+    public void test_nestedPath() throws Exception {
+        IKeyExtractor extractor = keyExtractorFactory.create("user.tenant.id",
+                KeyExtractorTest.class.getDeclaredMethod("order", String.class, Order.class));
+        Assert.assertEquals("t-01", extractor.extract(new Object[]{"trace", new Order(new User("u-01", new Tenant("t-01")))}));
+        Assert.assertNull(extractor.extract(new Object[]{"trace", new Order(null)}));
+    }
+
+    @Test
+    public void test_superclassField() throws Exception {
+        IKeyExtractor extractor = keyExtractorFactory.create("userId",
+                KeyExtractorTest.class.getDeclaredMethod("request", VipRequest.class));
+        Assert.assertEquals("u-02", extractor.extract(new Object[]{new VipRequest("u-02")}));
+    }
+
+    @Test
+    public void test_firstStringArg() throws Exception {
+        IKeyExtractor extractor = keyExtractorFactory.create("userId",
+                KeyExtractorTest.class.getDeclaredMethod("draw", String.class));
+        Assert.assertEquals("u-03", extractor.extract(new Object[]{"u-03"}));
+    }
+
+    public void order(String traceId, Order order) {
+    }
+
+    public void request(VipRequest req) {
+    }
+
+    public void draw(String userId) {
+    }
+
+    public static class Order {
+        private final User user;
+
+        Order(User user) {
+            this.user = user;
+        }
+    }
+
+    public static class User {
+        private final String id;
+        private final Tenant tenant;
+
+        User(String id, Tenant tenant) {
+            this.id = id;
+            this.tenant = tenant;
+        }
+    }
+
+    public static class Tenant {
+        private final String id;
+
+        Tenant(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    public static class BaseRequest {
+        private final String userId;
+
+        BaseRequest(String userId) {
+            this.userId = userId;
+        }
+    }
+
+    public static class UserRequest extends BaseRequest {
+        UserRequest(String userId) {
+            super(userId);
+        }
+    }
+
+    public static class VipRequest extends UserRequest {
+        VipRequest(String userId) {
+            super(userId);
+        }
+    }
+
+}
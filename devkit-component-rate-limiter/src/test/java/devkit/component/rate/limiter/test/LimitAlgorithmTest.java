@@ -0,0 +1,119 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.LocalRateLimiterEngine;
+import devkit.component.rate.limiter.domain.service.limiter.SlidingWindowRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.TokenBucketState;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LimitAlgorithmTest {
+
+    private final LocalRateLimiterEngine engine = new LocalRateLimiterEngine();
+
+    @Test
+    public void test_windowsAdmitPermitsPerWindow() {
+        // 100 per minute
+        for (LimitAlgorithm algorithm : new LimitAlgorithm[]{LimitAlgorithm.FIXED_WINDOW, LimitAlgorithm.SLIDING_WINDOW, LimitAlgorithm.GCRA}) {
+            IRateLimiter limiter = engine.create("test", new LimitSpecVO(algorithm, 100 / 60d, TimeUnit.MINUTES.toNanos(1)));
+            int acquired = 0;
+            for (int i = 0; i < 1000; i++) {
+                if (limiter.tryAcquire()) {
+                    acquired++;
+                }
+            }
+            Assert.assertTrue(algorithm + " acquired " + acquired, acquired >= 99 && acquired <= 100);
+        }
+    }
+
+    @Test
+    public void test_fixedWindowResets() throws InterruptedException {
+        IRateLimiter limiter = engine.create("test", new LimitSpecVO(LimitAlgorithm.FIXED_WINDOW, 50, TimeUnit.MILLISECONDS.toNanos(100)));
+        int acquired = 0;
+        for (int i = 0; i < 100; i++) {
+            if (limiter.tryAcquire()) {
+                acquired++;
+            }
+        }
+        Assert.assertTrue("acquired " + acquired, acquired <= 10);
+
+        Thread.sleep(220);
+        Assert.assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void test_concurrentGcraIsCapped() throws InterruptedException {
+        IRateLimiter limiter = engine.create("test", new LimitSpecVO(LimitAlgorithm.GCRA, 10, TimeUnit.SECONDS.toNanos(1)));
+
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 1000; j++) {
+                    if (limiter.tryAcquire()) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Burst of 10, plus whatever refilled meanwhile
+        Assert.assertTrue("acquired " + acquired.get(), acquired.get() >= 10 && acquired.get() <= 12);
+    }
+
+    @Test
+    public void test_tokenBucketIdlePastHalfClockRangeIsFull() {
+        TokenBucketState bucket = new TokenBucketState(1, 10);
+        long exhausted = bucket.take(bucket.initial());
+        long stored = exhausted & ((1L << 40) - 1);
+
+        // Stored a little ahead by a racing thread: unchanged
+        Assert.assertEquals(exhausted, bucket.refill(exhausted, stored - 1_000));
+        // Idle for 7 days, past half the 40-bit micro clock
+        long idle = bucket.refill(exhausted, stored + TimeUnit.DAYS.toMicros(7));
+        Assert.assertTrue(bucket.hasPermit(idle));
+        Assert.assertEquals(0, bucket.nanosToNextPermit(bucket.take(idle), stored + TimeUnit.DAYS.toMicros(7)));
+    }
+
+    @Test
+    public void test_slidingWindowIdlePastIndexRangeResets() {
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(1);
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(2, windowNanos);
+        long now = TimeUnit.HOURS.toNanos(1);
+        Assert.assertTrue(limiter.tryAcquire(now));
+        Assert.assertTrue(limiter.tryAcquire(now));
+        Assert.assertFalse(limiter.tryAcquire(now));
+        // A thread that read the clock a window earlier counts against the rolled window
+        Assert.assertFalse(limiter.tryAcquire(now - windowNanos));
+
+        // Idle for 3 hours, past half the 24-bit window index
+        now += TimeUnit.HOURS.toNanos(3);
+        Assert.assertTrue(limiter.tryAcquire(now));
+        Assert.assertTrue(limiter.tryAcquire(now));
+        Assert.assertFalse(limiter.tryAcquire(now));
+
+        // Idle for exactly the index range: same packed index, still a new window
+        now += (1L << 24) * windowNanos;
+        Assert.assertTrue(limiter.tryAcquire(now));
+        Assert.assertTrue(limiter.tryAcquire(now));
+        Assert.assertFalse(limiter.tryAcquire(now));
+    }
+
+}
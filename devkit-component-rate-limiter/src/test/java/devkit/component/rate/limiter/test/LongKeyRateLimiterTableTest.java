@@ -0,0 +1,140 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.LocalRateLimiterEngine;
+import devkit.component.rate.limiter.domain.service.registry.LongKeyRateLimiterTable;
+import devkit.component.rate.limiter.domain.service.registry.RateLimiterRegistry;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class LongKeyRateLimiterTableTest {
+
+    private static final LimitSpecVO SPEC = new LimitSpecVO(LimitAlgorithm.TOKEN_BUCKET, 10, TimeUnit.SECONDS.toNanos(1));
+
+    private static LongKeyRateLimiterTable table(long maximumSize, long expireAfterAccessMillis) {
+        return new LongKeyRateLimiterTable(SPEC, maximumSize, expireAfterAccessMillis,
+                new RateLimiterRegistry(new LocalRateLimiterEngine(), "test", SPEC));
+    }
+
+    @Test
+    public void test_keysHaveOwnBuckets() {
+        LongKeyRateLimiterTable table = table(1_000, 60_000);
+        Assert.assertTrue(table.getOrCreate("1001").tryAcquire());
+        Assert.assertFalse(table.getOrCreate("1001").tryAcquire());
+        Assert.assertTrue(table.getOrCreate("1002").tryAcquire());
+        // Not numeric: regular registry
+        Assert.assertTrue(table.getOrCreate("guest").tryAcquire());
+        Assert.assertFalse(table.getOrCreate("guest").tryAcquire());
+        Assert.assertEquals(3, table.size());
+    }
+
+    @Test
+    public void test_keysParsedWithoutExceptions() {
+        RateLimiterRegistry fallback = new RateLimiterRegistry(new LocalRateLimiterEngine(), "test", SPEC);
+        LongKeyRateLimiterTable table = new LongKeyRateLimiterTable(SPEC, 1_000, 60_000, fallback);
+        // Same key as Long.parseLong reads it, acquired on the slot directly
+        Assert.assertTrue(table.tryAcquire("+0042"));
+        Assert.assertFalse(table.tryAcquire("42"));
+        Assert.assertFalse(table.getOrCreate("42").tryAcquire());
+        Assert.assertTrue(table.tryAcquire("-42"));
+
+        for (String key : new String[]{"all", "", "-", "4x2", "9223372036854775808"}) {
+            Assert.assertTrue(key, table.tryAcquire(key));
+            Assert.assertFalse(key, table.tryAcquire(key));
+        }
+        Assert.assertEquals(5, fallback.size());
+    }
+
+    @Test
+    public void test_boundedAndIdleKeysExpire() throws InterruptedException {
+        RateLimiterRegistry fallback = new RateLimiterRegistry(new LocalRateLimiterEngine(), "test", SPEC);
+        LongKeyRateLimiterTable table = new LongKeyRateLimiterTable(SPEC, 160, 1_000, fallback);
+        for (long key = 0; key < 10_000; key++) {
+            table.getOrCreate(key).tryAcquire();
+        }
+        // Keys without room have their own buckets in the fallback
+        Assert.assertTrue("size " + table.size(), table.size() - fallback.size() <= 160);
+        Assert.assertFalse(table.getOrCreate(9_999).tryAcquire());
+
+        Thread.sleep(2_100);
+        for (long key = 20_000; key < 20_100; key++) {
+            Assert.assertTrue(table.getOrCreate(key).tryAcquire());
+        }
+        Assert.assertTrue(table.getEvictedCount() > 0);
+    }
+
+    @Test
+    public void test_idleKeyKeepsItsSpentBucketWithinTheWindow() throws InterruptedException {
+        // 1 per 10s, idle TTL 1s
+        LimitSpecVO spec = new LimitSpecVO(LimitAlgorithm.TOKEN_BUCKET, 0.1, TimeUnit.SECONDS.toNanos(10));
+        LongKeyRateLimiterTable table = new LongKeyRateLimiterTable(spec, 16, 1_000,
+                new RateLimiterRegistry(new LocalRateLimiterEngine(), "test", spec));
+        Assert.assertTrue(table.getOrCreate(0L).tryAcquire());
+
+        Thread.sleep(2_100);
+        // Every segment fills and rebuilds; key 0 has been idle past the TTL, not past its window
+        for (long key = 1; key < 1_000; key++) {
+            table.getOrCreate(key);
+        }
+        Assert.assertFalse(table.getOrCreate(0L).tryAcquire());
+    }
+
+    @Test
+    public void test_staleViewFollowsRebuild() {
+        LongKeyRateLimiterTable table = table(16, 60_000);
+        IRateLimiter stale = table.getOrCreate(0L);
+        Assert.assertTrue(stale.tryAcquire());
+
+        // One key per segment: every segment fills and rebuilds
+        for (long key = 1; key < 1_000; key++) {
+            table.getOrCreate(key);
+        }
+        Assert.assertFalse(stale.tryAcquire());
+        Assert.assertFalse(table.getOrCreate(0L).tryAcquire());
+        stale.refund();
+        Assert.assertTrue(table.getOrCreate(0L).tryAcquire());
+    }
+
+    @Test
+    public void test_concurrentRebuildsLoseNoUpdates() throws InterruptedException {
+        // 10/s with one permit up front; segments of 10 keys kept full by a spray
+        LongKeyRateLimiterTable table = table(160, 1_000);
+        int hotKeys = 16;
+        AtomicIntegerArray admitted = new AtomicIntegerArray(hotKeys);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        Thread[] workers = new Thread[8];
+        for (int t = 0; t < workers.length; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> {
+                long spray = 1_000_000L * (thread + 1);
+                while (System.nanoTime() - deadline < 0) {
+                    for (int key = 0; key < hotKeys; key++) {
+                        if (table.getOrCreate(key).tryAcquire()) {
+                            admitted.incrementAndGet(key);
+                        }
+                    }
+                    table.getOrCreate(spray++).tryAcquire();
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Assert.assertTrue(table.getEvictedCount() > 0);
+        for (int key = 0; key < hotKeys; key++) {
+            Assert.assertTrue("key " + key + " admitted " + admitted.get(key), admitted.get(key) <= 1 + 10 * seconds + 1);
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.rate.limiter.aop.RateLimiterAOP;
+import devkit.component.rate.limiter.config.RateLimiterPlanPrecompiler;
+import devkit.component.rate.limiter.domain.service.limiter.LocalRateLimiterEngine;
+import devkit.component.rate.limiter.endpoint.RateLimiterEndpoint;
+import devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class PlanPrecompilerTest {
+
+    public static class QueryService {
+
+        @RateLimiterAccessInterceptor(key = "userId", permitsPerSecond = 10, fallbackMethod = "fallback")
+        public String query(String userId) {
+            return "ok";
+        }
+
+        @RateLimiterAccessInterceptor(permitsPerSecond = 100, fallbackMethod = "fallback")
+        @RateLimiterAccessInterceptor(key = "userId", permitsPerSecond = 1, fallbackMethod = "fallback")
+        public String list(String userId) {
+            return "ok";
+        }
+
+        public String fallback(String userId) {
+            return "fallback";
+        }
+
+    }
+
+    public static class BrokenService {
+
+        @RateLimiterAccessInterceptor(key = "userId", permitsPerSecond = 10, fallbackMethod = "missing")
+        public String query(String userId) {
+            return "ok";
+        }
+
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy
+    static class BaseConfig {
+
+        @Bean
+        public RateLimiterAOP rateLimiterAOP() {
+            return new RateLimiterAOP(Collections.singletonList(new LocalRateLimiterEngine()));
+        }
+
+        @Bean
+        public static RateLimiterPlanPrecompiler rateLimiterPlanPrecompiler(ObjectProvider<RateLimiterAOP> rateLimiterAOP) {
+            return new RateLimiterPlanPrecompiler(rateLimiterAOP);
+        }
+
+    }
+
+    @Test
+    public void test_plansCompiledAtStartup() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.register(BaseConfig.class, QueryService.class);
+            context.refresh();
+
+            RateLimiterAOP aop = context.getBean(RateLimiterAOP.class);
+            Assert.assertEquals(3, aop.getPlans().size());
+
+            // Calls reuse the precompiled plans
+            Assert.assertEquals("ok", context.getBean(QueryService.class).list("u1"));
+            Assert.assertEquals(3, aop.getPlans().size());
+
+            List<Map<String, Object>> inventory = new RateLimiterEndpoint(aop).plans();
+            Assert.assertEquals(3, inventory.size());
+            Assert.assertTrue(inventory.stream().anyMatch(plan -> plan.get("id").toString().endsWith("#list(String)@1")));
+        }
+    }
+
+    @Test
+    public void test_badAnnotationFailsStartup() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.register(BaseConfig.class, BrokenService.class);
+            context.refresh();
+            Assert.fail("Startup should fail on a missing fallback");
+        } catch (IllegalStateException | BeanCreationException e) {
+            Assert.assertTrue(e.getMessage().contains("missing") || e.getCause().getMessage().contains("missing"));
+        }
+    }
+
+}
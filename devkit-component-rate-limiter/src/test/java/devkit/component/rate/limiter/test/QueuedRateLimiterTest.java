@@ -0,0 +1,68 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.rate.limiter.domain.service.limiter.TokenBucketRateLimiter;
+import devkit.component.rate.limiter.domain.service.wait.QueuedRateLimiter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class QueuedRateLimiterTest {
+
+    @Test
+    public void test_burstIsSmoothedWithinMaxWait() throws InterruptedException {
+        QueuedRateLimiter limiter = new QueuedRateLimiter(new TokenBucketRateLimiter(50, 1), 100, TimeUnit.MILLISECONDS.toNanos(20));
+
+        AtomicInteger acquired = new AtomicInteger();
+        runConcurrently(5, () -> {
+            if (limiter.tryAcquire(500, TimeUnit.MILLISECONDS)) {
+                acquired.incrementAndGet();
+            }
+        });
+
+        // 1 at once plus 4 at 20ms spacing, all inside the wait
+        Assert.assertEquals(5, acquired.get());
+        Assert.assertEquals(0, limiter.getQueueDepth());
+    }
+
+    @Test
+    public void test_fullQueueIsShed() throws InterruptedException {
+        QueuedRateLimiter limiter = new QueuedRateLimiter(new TokenBucketRateLimiter(1, 1), 2, TimeUnit.SECONDS.toNanos(1));
+        Assert.assertTrue(limiter.tryAcquire());
+
+        AtomicInteger rejected = new AtomicInteger();
+        long start = System.nanoTime();
+        runConcurrently(6, () -> {
+            if (!limiter.tryAcquire(200, TimeUnit.MILLISECONDS)) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        Assert.assertEquals(6, rejected.get());
+        // Shed callers return at once, queued ones at their deadline
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+    }
+
+    private static void runConcurrently(int threads, Runnable task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                task.run();
+            });
+            workers[i].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+}
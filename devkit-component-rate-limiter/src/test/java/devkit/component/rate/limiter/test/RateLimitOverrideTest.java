@@ -0,0 +1,119 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.dynamic.config.center.domain.model.valobj.DCCBindingVO;
+import devkit.component.rate.limiter.aop.RateLimiterAOP;
+import devkit.component.rate.limiter.domain.model.valobj.RateLimiterPlanVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.LocalRateLimiterEngine;
+import devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptor;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitOverrideTest {
+
+    public static class ExportService {
+
+        @RateLimiterAccessInterceptor(key = "userId", algorithm = LimitAlgorithm.FIXED_WINDOW, permits = 1, windowUnit = TimeUnit.MINUTES,
+                blacklistCount = 100, fallbackMethod = "fallback")
+        public String export(String userId) {
+            return "ok";
+        }
+
+        public String fallback(String userId) {
+            return "fallback";
+        }
+
+        @RateLimiterAccessInterceptor(key = "userId", algorithm = LimitAlgorithm.FIXED_WINDOW, permits = 1, windowUnit = TimeUnit.MINUTES,
+                fallbackMethod = "fallback")
+        public String export(String userId, int format) {
+            return "ok" + format;
+        }
+
+        public String fallback(String userId, int format) {
+            return "fallback" + format;
+        }
+
+    }
+
+    @Test
+    public void test_overrideAppliedInPlace() {
+        RateLimiterAOP aop = new RateLimiterAOP(Collections.singletonList(new LocalRateLimiterEngine()));
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ExportService());
+        factory.addAspect(aop);
+        ExportService service = factory.getProxy();
+
+        Assert.assertEquals("ok", service.export("u1"));
+        Assert.assertEquals("fallback", service.export("u1"));
+        RateLimiterPlanVO plan = aop.getPlans().get(0);
+        IRateLimiter limiter = plan.getLimiterRegistry().getOrCreate("u1");
+
+        // Loosened: the window count carries over, 1 used of 3
+        aop.setRateLimiterOverrides("{\"" + plan.getId() + "\": {\"permits\": 3, \"blacklistCount\": 5}}");
+        Assert.assertEquals("ok", service.export("u1"));
+        Assert.assertEquals("ok", service.export("u1"));
+        Assert.assertEquals("fallback", service.export("u1"));
+        Assert.assertSame(limiter, plan.getLimiterRegistry().getOrCreate("u1"));
+        Assert.assertEquals(5, plan.getBlacklistCount(), 0);
+
+        // Bad JSON keeps the current overrides
+        aop.setRateLimiterOverrides("{not json");
+        Assert.assertEquals(3, plan.getLimitSpec().getPermitsPerWindow());
+
+        // Removed: back to the annotation
+        aop.setRateLimiterOverrides("{}");
+        Assert.assertEquals(1, plan.getLimitSpec().getPermitsPerWindow());
+        Assert.assertEquals(100, plan.getBlacklistCount(), 0);
+    }
+
+    @Test
+    public void test_overloadsHaveTheirOwnPlans() {
+        RateLimiterAOP aop = new RateLimiterAOP(Collections.singletonList(new LocalRateLimiterEngine()));
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ExportService());
+        factory.addAspect(aop);
+        ExportService service = factory.getProxy();
+
+        // Each overload spends its own budget
+        Assert.assertEquals("ok", service.export("u1"));
+        Assert.assertEquals("ok2", service.export("u1", 2));
+        Assert.assertEquals("fallback", service.export("u1"));
+        Assert.assertEquals("fallback2", service.export("u1", 2));
+        Assert.assertEquals(2, aop.getPlans().size());
+
+        // And takes its own override
+        String id = ExportService.class.getName() + "#export(String,int)";
+        aop.setRateLimiterOverrides("{\"" + id + "\": {\"permits\": 3}}");
+        Assert.assertEquals("ok2", service.export("u1", 2));
+        Assert.assertEquals("fallback", service.export("u1"));
+    }
+
+    @Test
+    public void test_switchClosedBypassesLimits() throws Exception {
+        RateLimiterAOP aop = new RateLimiterAOP(Collections.singletonList(new LocalRateLimiterEngine()));
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ExportService());
+        factory.addAspect(aop);
+        ExportService service = factory.getProxy();
+        DCCBindingVO rateLimiterSwitch = new DCCBindingVO("rateLimiterSwitch", "open", aop, null,
+                RateLimiterAOP.class.getMethod("setRateLimiterSwitch", String.class));
+
+        rateLimiterSwitch.apply("close");
+        Assert.assertEquals("ok", service.export("u1"));
+        Assert.assertEquals("ok", service.export("u1"));
+
+        // Only blank and "close" are off
+        rateLimiterSwitch.apply("");
+        Assert.assertEquals("ok", service.export("u1"));
+
+        rateLimiterSwitch.apply("0");
+        Assert.assertEquals("ok", service.export("u1"));
+        Assert.assertEquals("fallback", service.export("u1"));
+
+        rateLimiterSwitch.apply("false");
+        Assert.assertEquals("fallback", service.export("u1"));
+    }
+
+}
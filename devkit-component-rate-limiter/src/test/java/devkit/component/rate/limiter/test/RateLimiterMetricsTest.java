@@ -0,0 +1,84 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.rate.limiter.aop.RateLimiterAOP;
+import devkit.component.rate.limiter.domain.model.valobj.HeavyHitterVO;
+import devkit.component.rate.limiter.domain.model.valobj.RejectionEventVO;
+import devkit.component.rate.limiter.domain.service.limiter.LocalRateLimiterEngine;
+import devkit.component.rate.limiter.domain.service.metrics.HeavyHitterSketch;
+import devkit.component.rate.limiter.domain.service.metrics.LogSampler;
+import devkit.component.rate.limiter.domain.service.metrics.MicrometerRateLimiterMetrics;
+import devkit.component.rate.limiter.domain.service.metrics.RejectionRecorder;
+import devkit.component.rate.limiter.domain.service.registry.RateLimiterRegistryFactory;
+import devkit.component.rate.limiter.domain.service.wait.AsyncPermitScheduler;
+import devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptor;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+import devkit.component.rate.limiter.types.enums.RejectReason;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class RateLimiterMetricsTest {
+
+    public static class SearchService {
+
+        @RateLimiterAccessInterceptor(key = "userId", algorithm = LimitAlgorithm.FIXED_WINDOW, permits = 1, windowUnit = TimeUnit.MINUTES,
+                fallbackMethod = "fallback")
+        public String search(String userId) {
+            return "ok";
+        }
+
+        public String fallback(String userId) {
+            return "fallback";
+        }
+
+    }
+
+    @Test
+    public void test_heavyHittersKept() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(8);
+        for (int i = 0; i < 1000; i++) {
+            sketch.offer("hot");
+            if (i % 2 == 0) {
+                sketch.offer("warm");
+            }
+            sketch.offer("cold-" + i);
+        }
+
+        List<HeavyHitterVO> top = sketch.top(2, 1);
+        Assert.assertEquals("hot", top.get(0).getKey());
+        Assert.assertEquals("warm", top.get(1).getKey());
+        Assert.assertTrue(top.get(0).getCount() - top.get(0).getError() <= 1000);
+    }
+
+    @Test
+    public void test_decisionsCountedAndRecorded() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RejectionRecorder rejectionRecorder = new RejectionRecorder(8, 1, 4);
+        RateLimiterAOP aop = new RateLimiterAOP(Collections.singletonList(new LocalRateLimiterEngine()), new RateLimiterRegistryFactory(),
+                new AsyncPermitScheduler(), new MicrometerRateLimiterMetrics(meterRegistry), rejectionRecorder, new LogSampler(1000));
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SearchService());
+        factory.addAspect(aop);
+        SearchService service = factory.getProxy();
+
+        Assert.assertEquals("ok", service.search("u1"));
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("fallback", service.search("u1"));
+        }
+
+        Assert.assertEquals(1, meterRegistry.get("devkit.rate.limiter.calls").tag("outcome", "allowed").counter().count(), 0);
+        Assert.assertEquals(10, meterRegistry.get("devkit.rate.limiter.calls").tag("outcome", "rejected").counter().count(), 0);
+        Assert.assertEquals(10, meterRegistry.get("devkit.rate.limiter.fallback").tag("outcome", "success").timer().count());
+
+        // Ring keeps the last 8
+        List<RejectionEventVO> recent = rejectionRecorder.recent();
+        Assert.assertEquals(8, recent.size());
+        Assert.assertEquals(RejectReason.RATE_EXCEEDED, recent.get(0).getReason());
+        Assert.assertEquals(10, rejectionRecorder.heavyHitters(1).values().iterator().next().get(0).getCount());
+    }
+
+}
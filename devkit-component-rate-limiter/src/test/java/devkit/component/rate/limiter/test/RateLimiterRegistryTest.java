@@ -0,0 +1,86 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.LocalRateLimiterEngine;
+import devkit.component.rate.limiter.domain.service.registry.RateLimiterRegistry;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class RateLimiterRegistryTest {
+
+    @Test
+    public void test_concurrentCreateIsDeduplicated() throws InterruptedException {
+        RateLimiterRegistry registry = new RateLimiterRegistry(new LocalRateLimiterEngine(), "test",
+                new LimitSpecVO(LimitAlgorithm.TOKEN_BUCKET, 10, TimeUnit.SECONDS.toNanos(1)));
+        Set<IRateLimiter> seen = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[16];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                seen.add(registry.getOrCreate("hot-key"));
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(1, seen.size());
+        Assert.assertEquals(1, registry.getCreatedCount());
+        Assert.assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void test_sprayedKeysAreBoundedAndHotKeySurvives() {
+        RateLimiterRegistry registry = new RateLimiterRegistry(new LocalRateLimiterEngine(), "test",
+                new LimitSpecVO(LimitAlgorithm.TOKEN_BUCKET, 10, TimeUnit.SECONDS.toNanos(1)), 1_000, 0, 60_000);
+
+        IRateLimiter hot = registry.getOrCreate("hot-key");
+        for (int i = 0; i < 50_000; i++) {
+            registry.getOrCreate("hot-key");
+            registry.getOrCreate("spray-" + i);
+        }
+        registry.cleanUp();
+
+        Assert.assertTrue("size " + registry.size(), registry.size() <= 1_000);
+        Assert.assertTrue(registry.getEvictedCount() > 0);
+        Assert.assertSame(hot, registry.getOrCreate("hot-key"));
+    }
+
+    @Test
+    public void test_idleKeyKeepsItsWindow() throws InterruptedException {
+        // 1 per minute, idle TTL 50ms: the spent window outlives the TTL
+        RateLimiterRegistry registry = new RateLimiterRegistry(new LocalRateLimiterEngine(), "test",
+                new LimitSpecVO(LimitAlgorithm.SLIDING_WINDOW, 1 / 60d, TimeUnit.MINUTES.toNanos(1)), 1_000, 0, 50);
+        IRateLimiter limiter = registry.getOrCreate("u1");
+        Assert.assertTrue(limiter.tryAcquire());
+
+        Thread.sleep(150);
+        registry.cleanUp();
+        Assert.assertSame(limiter, registry.getOrCreate("u1"));
+        Assert.assertFalse(registry.getOrCreate("u1").tryAcquire());
+
+        // Windows shorter than the TTL expire after the TTL
+        RateLimiterRegistry shortWindow = new RateLimiterRegistry(new LocalRateLimiterEngine(), "test",
+                new LimitSpecVO(LimitAlgorithm.FIXED_WINDOW, 100, TimeUnit.MILLISECONDS.toNanos(10)), 1_000, 0, 50);
+        IRateLimiter expiring = shortWindow.getOrCreate("u1");
+        Thread.sleep(150);
+        Assert.assertNotSame(expiring, shortWindow.getOrCreate("u1"));
+    }
+
+}
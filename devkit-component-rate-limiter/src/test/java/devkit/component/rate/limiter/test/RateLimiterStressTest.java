@@ -0,0 +1,238 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.rate.limiter.aop.RateLimiterAOP;
+import devkit.component.rate.limiter.domain.model.valobj.LimitSpecVO;
+import devkit.component.rate.limiter.domain.service.blacklist.KeyBlacklist;
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.LocalRateLimiterEngine;
+import devkit.component.rate.limiter.domain.service.registry.RateLimiterRegistry;
+import devkit.component.rate.limiter.types.annotations.RateLimiterAccessInterceptor;
+import devkit.component.rate.limiter.types.enums.LimitAlgorithm;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntPredicate;
+
+/**
+ * Many threads against one and many keys: admitted rate vs configured, one limiter per key
+ * under racing creation, exact blacklist counts, and the router under contention.
+ * Longer runs with a router throughput floor: mvn test -Pstress, or -Dstress.seconds and
+ * -Dstress.minCallsPerSecond; the default run asserts no wall-clock floor.
+ */
+public class RateLimiterStressTest {
+
+    private static final int THREADS = 16;
+
+    private static final long SECONDS = Long.getLong("stress.seconds", 1);
+
+    /** 0 asserts no floor */
+    private static final long MIN_CALLS_PER_SECOND = Long.getLong("stress.minCallsPerSecond", 0);
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiterStressTest.class);
+
+    public static class HotService {
+
+        @RateLimiterAccessInterceptor(key = "userId", permitsPerSecond = 1_000_000_000d, fallbackMethod = "fallback")
+        public String call(String userId) {
+            return "ok";
+        }
+
+        public String fallback(String userId) {
+            return "fallback";
+        }
+
+    }
+
+    /** Run op on every thread until the deadline; returns admitted (true), total calls and elapsed nanos */
+    private static long[] hammer(int threads, long seconds, IntPredicate op) throws InterruptedException {
+        long begin = System.nanoTime();
+        long[][] counts = new long[threads][2];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        long[] deadline = new long[1];
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long admitted = 0;
+                long calls = 0;
+                while (System.nanoTime() - deadline[0] < 0) {
+                    for (int i = 0; i < 64; i++) {
+                        if (op.test(thread)) {
+                            admitted++;
+                        }
+                    }
+                    calls += 64;
+                }
+                counts[thread][0] = admitted;
+                counts[thread][1] = calls;
+            });
+            workers[t].start();
+        }
+        deadline[0] = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long[] total = new long[3];
+        for (long[] count : counts) {
+            total[0] += count[0];
+            total[1] += count[1];
+        }
+        total[2] = System.nanoTime() - begin;
+        return total;
+    }
+
+    @Test
+    public void test_admittedRateOnOneKey() throws InterruptedException {
+        double rate = 50_000;
+        for (LimitAlgorithm algorithm : new LimitAlgorithm[]{LimitAlgorithm.TOKEN_BUCKET, LimitAlgorithm.FIXED_WINDOW,
+                LimitAlgorithm.SLIDING_WINDOW, LimitAlgorithm.GCRA}) {
+            IRateLimiter limiter = new LocalRateLimiterEngine().create("k", new LimitSpecVO(algorithm, rate, TimeUnit.SECONDS.toNanos(1)));
+
+            long[] result = hammer(THREADS, SECONDS, thread -> limiter.tryAcquire());
+            double elapsedSeconds = result[2] / 1e9;
+            double expected = rate * elapsedSeconds;
+            // Burst is one window of permits: fixed window and GCRA may admit it on top of the rate, the first second
+            // of a fresh limiter included; the sliding window and token bucket (starting at one token) stay near the rate
+            Assert.assertTrue(algorithm + " over-admitted: " + result[0], result[0] <= expected + rate + 1);
+            Assert.assertTrue(algorithm + " under-admitted: " + result[0], result[0] >= rate * SECONDS * 0.8);
+        }
+    }
+
+    @Test
+    public void test_admittedRatePerKey() throws InterruptedException {
+        int keys = 64;
+        double rate = 1_000;
+        RateLimiterRegistry registry = new RateLimiterRegistry(new LocalRateLimiterEngine(), "stress",
+                new LimitSpecVO(LimitAlgorithm.TOKEN_BUCKET, rate, TimeUnit.SECONDS.toNanos(1)));
+        AtomicIntegerArray admitted = new AtomicIntegerArray(keys);
+        int[] cursors = new int[THREADS];
+
+        long[] result = hammer(THREADS, SECONDS, thread -> {
+            int key = cursors[thread]++ & (keys - 1);
+            if (registry.getOrCreate("u" + key).tryAcquire()) {
+                admitted.incrementAndGet(key);
+                return true;
+            }
+            return false;
+        });
+
+        double expected = rate * result[2] / 1e9;
+        for (int key = 0; key < keys; key++) {
+            Assert.assertTrue("key " + key + " admitted " + admitted.get(key), admitted.get(key) <= expected + 1);
+            Assert.assertTrue("key " + key + " admitted " + admitted.get(key), admitted.get(key) >= rate * SECONDS * 0.8);
+        }
+        Assert.assertEquals(keys, registry.getCreatedCount());
+    }
+
+    @Test
+    public void test_racingCreationYieldsOneLimiter() throws Exception {
+        RateLimiterRegistry registry = new RateLimiterRegistry(new LocalRateLimiterEngine(), "race",
+                new LimitSpecVO(LimitAlgorithm.TOKEN_BUCKET, 10, TimeUnit.SECONDS.toNanos(1)));
+        int rounds = 200;
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        List<Set<IRateLimiter>> seen = new ArrayList<>(rounds);
+        for (int i = 0; i < rounds; i++) {
+            seen.add(ConcurrentHashMap.newKeySet());
+        }
+
+        Thread[] workers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    for (int round = 0; round < rounds; round++) {
+                        barrier.await();
+                        seen.get(round).add(registry.getOrCreate("fresh-" + round));
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        for (int round = 0; round < rounds; round++) {
+            Assert.assertEquals("round " + round, 1, seen.get(round).size());
+        }
+        Assert.assertEquals(rounds, registry.getCreatedCount());
+    }
+
+    @Test
+    public void test_blacklistCountsExactlyUnderContention() throws InterruptedException {
+        int threshold = 1_000;
+        KeyBlacklist blacklist = new KeyBlacklist(threshold, 60_000, 3_600_000);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                // Exactly threshold rejections of the hot key in total, plus cold keys well under it
+                for (int i = 0; i < threshold / THREADS; i++) {
+                    blacklist.recordRejection("hot");
+                    blacklist.recordRejection("cold-" + thread + "-" + (i % 200));
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        int recorded = threshold / THREADS * THREADS;
+        Assert.assertFalse("banned at " + recorded, blacklist.isBanned("hot"));
+        for (int i = recorded; i <= threshold; i++) {
+            blacklist.recordRejection("hot");
+        }
+        Assert.assertTrue(blacklist.isBanned("hot"));
+        Assert.assertEquals(1, blacklist.getOffenderCount());
+    }
+
+    @Test
+    public void test_routerUnderContention() throws InterruptedException {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new HotService());
+        factory.addAspect(new RateLimiterAOP(Collections.singletonList(new LocalRateLimiterEngine())));
+        HotService service = factory.getProxy();
+        String[] keys = new String[1024];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "user-" + i;
+        }
+        int[] cursors = new int[THREADS];
+
+        long[] result = hammer(THREADS, SECONDS, thread -> "ok".equals(service.call(keys[cursors[thread]++ & 1023])));
+        double callsPerSecond = result[1] / (result[2] / 1e9);
+        log.info("Router: {} calls/s on {} threads", Math.round(callsPerSecond), THREADS);
+
+        Assert.assertEquals(result[1], result[0]);
+        if (MIN_CALLS_PER_SECOND > 0) {
+            Assert.assertTrue("calls/s " + callsPerSecond, callsPerSecond >= MIN_CALLS_PER_SECOND);
+        }
+    }
+
+}
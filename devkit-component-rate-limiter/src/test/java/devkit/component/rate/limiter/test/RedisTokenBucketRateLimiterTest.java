@@ -0,0 +1,117 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.redis.LeasedRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.redis.RedisTokenBucketRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.redis.RedisTokenBucketScript;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/** Two nodes sharing one budget, against an embedded Redis */
+public class RedisTokenBucketRateLimiterTest {
+
+    private static final int PORT = 16379;
+
+    private static RedisServer redisServer;
+    private static RedissonClient node01;
+    private static RedissonClient node02;
+
+    @BeforeClass
+    public static void init() throws IOException {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        node01 = createClient();
+        node02 = createClient();
+    }
+
+    @AfterClass
+    public static void destroy() throws IOException {
+        node01.shutdown();
+        node02.shutdown();
+        redisServer.stop();
+    }
+
+    @Test
+    public void test_budgetIsSharedAcrossNodes() throws InterruptedException {
+        String key = "devkit_rate_limiter:test:shared";
+        IRateLimiter limiter01 = new RedisTokenBucketRateLimiter(new RedisTokenBucketScript(() -> node01), key, 10);
+        IRateLimiter limiter02 = new RedisTokenBucketRateLimiter(new RedisTokenBucketScript(() -> node02), key, 10);
+
+        // New bucket: first call passes, then empty
+        Assert.assertTrue(limiter01.tryAcquire());
+        Assert.assertFalse(limiter02.tryAcquire());
+
+        // Full bucket holds one second of permits for the whole cluster
+        Thread.sleep(1100);
+        int acquired = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            if (limiter01.tryAcquire()) {
+                acquired++;
+            }
+            if (limiter02.tryAcquire()) {
+                acquired++;
+            }
+        }
+        // Plus what refilled while the loop ran
+        long refilled = (System.nanoTime() - start) * 10 / 1_000_000_000L;
+        Assert.assertTrue("acquired " + acquired, acquired >= 10 && acquired <= 11 + refilled);
+    }
+
+    @Test
+    public void test_refundReturnsThePermitToTheSharedBucket() {
+        String key = "devkit_rate_limiter:test:refund";
+        IRateLimiter limiter01 = new RedisTokenBucketRateLimiter(new RedisTokenBucketScript(() -> node01), key, 0.01, 1);
+        IRateLimiter limiter02 = new RedisTokenBucketRateLimiter(new RedisTokenBucketScript(() -> node02), key, 0.01, 1);
+
+        Assert.assertTrue(limiter01.tryAcquire());
+        Assert.assertFalse(limiter02.tryAcquire());
+
+        // Rolled back on node 01, taken on node 02; never beyond capacity
+        limiter01.refund();
+        limiter01.refund();
+        Assert.assertTrue(limiter02.tryAcquire());
+        Assert.assertFalse(limiter01.tryAcquire());
+    }
+
+    @Test
+    public void test_leasedNodesHonourGlobalRate() throws InterruptedException {
+        String key = "devkit_rate_limiter:test:leased";
+        ExecutorService refillExecutor = Executors.newSingleThreadExecutor();
+        IRateLimiter limiter01 = new LeasedRateLimiter(new RedisTokenBucketScript(() -> node01), refillExecutor, key, 100, 100, 1000);
+        IRateLimiter limiter02 = new LeasedRateLimiter(new RedisTokenBucketScript(() -> node02), refillExecutor, key, 100, 100, 1000);
+
+        int acquired = 0;
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < 1_000_000_000L) {
+            if (limiter01.tryAcquire()) {
+                acquired++;
+            }
+            if (limiter02.tryAcquire()) {
+                acquired++;
+            }
+            Thread.sleep(1);
+        }
+        refillExecutor.shutdownNow();
+
+        // One second of the global rate, plus the initial permit and one batch in flight per node
+        Assert.assertTrue("acquired " + acquired, acquired >= 50 && acquired <= 100 + 1 + 20);
+    }
+
+    private static RedissonClient createClient() {
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:" + PORT);
+        return Redisson.create(config);
+    }
+
+}
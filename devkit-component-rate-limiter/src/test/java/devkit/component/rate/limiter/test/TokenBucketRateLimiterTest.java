@@ -0,0 +1,72 @@
+package devkit.component.rate.limiter.test;
+
+import devkit.component.rate.limiter.domain.service.limiter.IRateLimiter;
+import devkit.component.rate.limiter.domain.service.limiter.TokenBucketRateLimiter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TokenBucketRateLimiterTest {
+
+    @Test
+    public void test_firstPermitThenRefill() throws InterruptedException {
+        IRateLimiter limiter = new TokenBucketRateLimiter(10);
+        Assert.assertTrue(limiter.tryAcquire());
+        Assert.assertFalse(limiter.tryAcquire());
+
+        Thread.sleep(150);
+        Assert.assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void test_lowRateDoesNotStarve() throws InterruptedException {
+        IRateLimiter limiter = new TokenBucketRateLimiter(5);
+        Assert.assertTrue(limiter.tryAcquire());
+
+        // Polling every ms must still accumulate fractional tokens
+        int acquired = 0;
+        long end = System.currentTimeMillis() + 1000;
+        while (System.currentTimeMillis() < end) {
+            if (limiter.tryAcquire()) {
+                acquired++;
+            }
+            Thread.sleep(1);
+        }
+        Assert.assertTrue("acquired " + acquired, acquired >= 4 && acquired <= 6);
+    }
+
+    @Test
+    public void test_concurrentBurstIsCapped() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100);
+        // Fill the bucket to its one-second capacity
+        Thread.sleep(1100);
+
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 1000; j++) {
+                    if (limiter.tryAcquire()) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertTrue("acquired " + acquired.get(), acquired.get() >= 100 && acquired.get() <= 110);
+    }
+
+}